@@ -0,0 +1,39 @@
+-- ===========================================
+-- Photocard-Maker 스키마 변경 (누적)
+-- 기존 DB 에 순서대로 적용
+-- ===========================================
+
+-- 1. 내용 주소 저장 이미지 (photocard.storage.content-addressed)
+-- content_hash = 원본 이미지 바이트의 SHA-256 (저장소 fileId)
+-- last_referenced_at = 마지막으로 저장(재사용 포함)된 시각, 고아 blob 정리는 min-age 이전 행만 삭제
+-- ===========================================
+CREATE TABLE IF NOT EXISTS photocard_blobs (
+    content_hash CHAR(64) PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    download_url TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_referenced_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 2. 작품 대표 포토카드 (작품 선택 시 응답, 작품당 1건)
+-- artwork_id 기본 키로 여러 인스턴스가 동시에 생성해도 먼저 등록한 포토카드만 남김
+-- ===========================================
+CREATE TABLE IF NOT EXISTS artwork_photocards (
+    artwork_id BIGINT PRIMARY KEY,
+    photocard_id BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 3. 작품별 포토카드 목록 keyset 페이지 인덱스 (GET /api/photocards?artworkId=&limit=&cursor=)
+-- WHERE artwork_id = ? AND (created_at, id) > (?, ?) ORDER BY created_at, id 를 인덱스 범위 스캔으로 처리
+-- ===========================================
+CREATE INDEX idx_photocards_artwork_created_id ON photocards (artwork_id, created_at, id);
+
+-- 4. 작품별 선택 수 (ArtworkSelectionRecorder 가 주기적으로 증가분을 더함)
+-- 선택 이벤트 자체는 기존 artwork_selections 에 다중 행 INSERT 로 기록
+-- ===========================================
+CREATE TABLE IF NOT EXISTS artwork_selection_counts (
+    artwork_id BIGINT PRIMARY KEY,
+    selection_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
@@ -0,0 +1,174 @@
+package com.photocard.benchmark;
+
+import com.photocard.config.PipelineConfig;
+import com.photocard.service.RenderExecutor;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 외부 서비스 환경에서 파이프라인 I/O 실행기별 처리 시간 비교
+ * - PLATFORM: PipelineConfig 의 photocardIoExecutor (io-pool-size 32 + queue-capacity 500)
+ * - VIRTUAL: PipelineConfig 의 가상 스레드 실행기 (virtual-max-concurrency 1000, JDK 21 이상에서만 실행 가능)
+ * 실행기는 PipelineConfig 를 기본 설정으로 띄워 앱과 같은 빈을 사용하고, 렌더링은 앱과 같은 RenderExecutor 에서 실행
+ * 요청 1건 = PhotocardCreationPipeline 과 같은 단계 (작품 조회 → 이미지 다운로드 + 렌더링 → 업로드), 단계마다 I/O 실행기에 제출
+ * 배치(concurrentRequests 건) 처리 시간을 측정하고, 실행기/렌더링 큐 한도로 거절된 요청 수(앱에서는 503)를 함께 보고
+ * ./gradlew jmh (VIRTUAL 측정은 JDK 21 이상으로 실행)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BlockingIoThroughputBenchmark {
+    
+    private static final byte[] PAYLOAD = new byte[4096];
+    
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String threading;
+    
+    // 외부 서비스(Exhibition API, 작품 이미지 호스트, Blob Storage) 응답 지연
+    @Param({"50", "200"})
+    public int upstreamLatencyMs;
+    
+    // 500: 두 모드 모두 한도 안 / 1000: 플랫폼 모드는 io-pool-size + queue-capacity 를 넘는 요청을 거절
+    @Param({"500", "1000"})
+    public int concurrentRequests;
+    
+    private HttpServer upstream;
+    private ExecutorService upstreamWorkers;
+    private AnnotationConfigApplicationContext pipelineContext;
+    private Executor ioExecutor;
+    private RenderExecutor renderExecutor;
+    private URL upstreamUrl;
+    
+    /**
+     * 배치 1회의 요청 결과 (완료 / 거절)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long completed;
+        public long rejected;
+    }
+    
+    @Setup
+    public void setUp() throws Exception {
+        upstreamWorkers = Executors.newCachedThreadPool();
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        upstream.setExecutor(upstreamWorkers);
+        upstream.createContext("/", exchange -> {
+            try {
+                Thread.sleep(upstreamLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, PAYLOAD.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(PAYLOAD);
+            }
+        });
+        upstream.start();
+        upstreamUrl = new URL("http://127.0.0.1:" + upstream.getAddress().getPort() + "/");
+        
+        // spring.threads.virtual.enabled 에 따라 PipelineConfig 가 만드는 photocardIoExecutor 빈을 그대로 사용
+        pipelineContext = new AnnotationConfigApplicationContext();
+        pipelineContext.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("spring.threads.virtual.enabled", String.valueOf("VIRTUAL".equals(threading)))));
+        pipelineContext.register(PipelineConfig.class);
+        pipelineContext.refresh();
+        if (!pipelineContext.containsBean("photocardIoExecutor")) {
+            throw new IllegalStateException("가상 스레드 실행기는 JDK 21 이상에서만 사용할 수 있습니다");
+        }
+        ioExecutor = pipelineContext.getBean("photocardIoExecutor", Executor.class);
+        
+        // 앱 기본값 (코어 수 크기 풀, 큐 64)
+        renderExecutor = new RenderExecutor(new SimpleMeterRegistry(), 0, 64, Duration.ofSeconds(5));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        pipelineContext.close();
+        renderExecutor.destroy();
+        upstream.stop(0);
+        upstreamWorkers.shutdownNow();
+    }
+    
+    @Benchmark
+    public long handleRequests(Outcomes outcomes) {
+        List<CompletableFuture<Long>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            try {
+                responses.add(handleRequest());
+            } catch (RejectedExecutionException e) {
+                outcomes.rejected++;
+            }
+        }
+        long total = 0;
+        for (CompletableFuture<Long> response : responses) {
+            try {
+                total += response.join();
+                outcomes.completed++;
+            } catch (CompletionException e) {
+                outcomes.rejected++;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * 포토카드 생성 요청 1건 (PhotocardCreationPipeline 과 같은 단계 구성)
+     */
+    private CompletableFuture<Long> handleRequest() {
+        return CompletableFuture
+                .supplyAsync(this::call, ioExecutor)                                       // Exhibition API 작품 조회
+                .thenApplyAsync(bytes -> bytes + call()                                    // 작품 이미지 다운로드
+                        + renderExecutor.execute(BlockingIoThroughputBenchmark::render), ioExecutor)
+                .thenApplyAsync(bytes -> bytes + call(), ioExecutor);                      // Blob Storage 업로드
+    }
+    
+    private long call() {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) upstreamUrl.openConnection();
+            try (InputStream in = connection.getInputStream()) {
+                return in.readAllBytes().length;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * 렌더링 대신 짧은 CPU 작업
+     */
+    private static long render() {
+        long hash = 17;
+        for (int i = 0; i < 200_000; i++) {
+            hash = hash * 31 + i;
+        }
+        return hash & 1;
+    }
+}
@@ -0,0 +1,70 @@
+package com.photocard.benchmark;
+
+import com.photocard.service.ImageResizer;
+import com.photocard.service.ResizeFilter;
+import com.photocard.service.ResizeMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리사이즈 모드별 처리 시간 비교
+ * ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageResizerBenchmark {
+    
+    // 작품 이미지 영역 (ImageProcessingService 와 동일)
+    private static final int TARGET_WIDTH = 600;
+    private static final int TARGET_HEIGHT = 300;
+    
+    // 필터는 HIGH_QUALITY 에서만 쓰이므로 HIGH_QUALITY 와만 조합 (mode[:filter])
+    @Param({"FAST", "BALANCED", "HIGH_QUALITY:LANCZOS3", "HIGH_QUALITY:MITCHELL"})
+    public String resize;
+    
+    // 서브샘플링 디코딩 결과 수준 / 원본 스캔 수준
+    @Param({"1200x600", "4000x3000"})
+    public String sourceSize;
+    
+    private ResizeMode mode;
+    private ImageResizer resizer;
+    private BufferedImage source;
+    private BufferedImage canvas;
+    
+    @Setup
+    public void setUp() {
+        String[] size = sourceSize.split("x");
+        int width = Integer.parseInt(size[0]);
+        int height = Integer.parseInt(size[1]);
+        
+        String[] resizeParams = resize.split(":");
+        mode = ResizeMode.valueOf(resizeParams[0]);
+        ResizeFilter filter = resizeParams.length > 1 ? ResizeFilter.valueOf(resizeParams[1]) : ResizeFilter.LANCZOS3;
+        resizer = new ImageResizer(mode, filter);
+        source = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g2d = source.createGraphics();
+        g2d.setPaint(new GradientPaint(0, 0, Color.BLUE, width, height, Color.ORANGE));
+        g2d.fillRect(0, 0, width, height);
+        g2d.setColor(Color.BLACK);
+        for (int x = 0; x < width; x += 7) {
+            g2d.drawLine(x, 0, x, height);
+        }
+        g2d.dispose();
+        canvas = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+    }
+    
+    @Benchmark
+    public BufferedImage resize() {
+        return resizer.resize(source, TARGET_WIDTH, TARGET_HEIGHT, mode);
+    }
+    
+    @Benchmark
+    public BufferedImage resizeIntoCanvas() {
+        resizer.resizeInto(source, canvas, 100, 150, TARGET_WIDTH, TARGET_HEIGHT, mode);
+        return canvas;
+    }
+}
@@ -0,0 +1,40 @@
+package com.photocard.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 동시 실행 수를 제한하는 Executor 래퍼
+ * 대기 큐 없이 허용 수를 넘는 작업은 RejectedExecutionException 으로 즉시 거절
+ * (가상 스레드는 작업마다 새로 만들어지므로 외부 자원 보호를 위해 상한을 둠)
+ */
+public class BoundedExecutor implements Executor {
+    
+    private final Executor delegate;
+    private final Semaphore permits;
+    
+    public BoundedExecutor(Executor delegate, int maxConcurrency) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+    
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("동시 실행 한도 초과");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
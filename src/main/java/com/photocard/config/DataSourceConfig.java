@@ -0,0 +1,87 @@
+package com.photocard.config;
+
+import com.photocard.service.ConnectionHoldRecorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Configuration
+public class DataSourceConfig {
+    
+    /**
+     * DataSource 를 감싸 커넥션 점유 시간을 ConnectionHoldRecorder 로 기록
+     * HikariCP 지표(hikaricp.connections.*)는 감싼 DataSource 에서도 그대로 수집됨
+     */
+    @Bean
+    public static BeanPostProcessor connectionHoldRecordingPostProcessor(ObjectProvider<ConnectionHoldRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof HoldTimeRecordingDataSource)) {
+                    return new HoldTimeRecordingDataSource(dataSource, recorder);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    static class HoldTimeRecordingDataSource extends DelegatingDataSource {
+        
+        private final ObjectProvider<ConnectionHoldRecorder> recorder;
+        
+        HoldTimeRecordingDataSource(DataSource target, ObjectProvider<ConnectionHoldRecorder> recorder) {
+            super(target);
+            this.recorder = recorder;
+        }
+        
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(obtainTargetDataSource().getConnection());
+        }
+        
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(obtainTargetDataSource().getConnection(username, password));
+        }
+        
+        /**
+         * close() 시 한 번만 점유 시간을 기록하는 커넥션 프록시
+         * 작업 이름은 빌릴 때 정해져 있지 않으면(트랜잭션 시작 중) 커넥션을 사용할 때 다시 확인
+         */
+        private Connection recording(Connection target) {
+            ConnectionHoldRecorder holdRecorder = recorder.getIfAvailable();
+            if (holdRecorder == null) {
+                return target;
+            }
+            
+            long borrowedAt = System.nanoTime();
+            AtomicBoolean closed = new AtomicBoolean();
+            String[] operation = {holdRecorder.currentOperation()};
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            if (closed.compareAndSet(false, true)) {
+                                holdRecorder.record(operation[0], System.nanoTime() - borrowedAt);
+                            }
+                        } else if (operation[0] == null) {
+                            operation[0] = holdRecorder.currentOperation();
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
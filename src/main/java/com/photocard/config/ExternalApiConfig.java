@@ -1,5 +1,6 @@
 package com.photocard.config;
 
+import com.photocard.service.RemoteCallRecorder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,8 +16,26 @@ public class ExternalApiConfig {
     private String chatOrchestraBaseUrl;
     
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RemoteCallRecorder remoteCallRecorder) {
+        RestTemplate restTemplate = new RestTemplate();
+        
+        // 외부 서비스 호출 횟수 기록 (요청별 RemoteCallLedger 포함)
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            remoteCallRecorder.record(targetOf(request.getURI().toString()),
+                    request.getMethod().name().toLowerCase());
+            return execution.execute(request, body);
+        });
+        return restTemplate;
+    }
+    
+    private String targetOf(String url) {
+        if (url.startsWith(exhibitionBaseUrl)) {
+            return RemoteCallRecorder.EXHIBITION;
+        }
+        if (url.startsWith(chatOrchestraBaseUrl)) {
+            return RemoteCallRecorder.CHAT_ORCHESTRA;
+        }
+        return "http";
     }
     
     public String getExhibitionBaseUrl() {
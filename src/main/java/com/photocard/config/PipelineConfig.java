@@ -0,0 +1,54 @@
+package com.photocard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PipelineConfig {
+    
+    @Value("${photocard.pipeline.io-pool-size:32}")
+    private int ioPoolSize;
+    
+    @Value("${photocard.pipeline.queue-capacity:500}")
+    private int queueCapacity;
+    
+    @Value("${photocard.pipeline.virtual-max-concurrency:1000}")
+    private int virtualMaxConcurrency;
+    
+    /**
+     * 포토카드 생성 파이프라인의 I/O 단계(Exhibition API 조회, 작품 이미지 다운로드, 업로드, DB 저장) 실행기
+     * CPU 렌더링은 RenderExecutor 에서 별도로 제한
+     */
+    @Bean(name = "photocardIoExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor photocardIoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ioPoolSize);
+        executor.setMaxPoolSize(ioPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("photocard-io-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+    
+    /**
+     * 가상 스레드 모드 (spring.threads.virtual.enabled=true, JDK 21 이상)
+     * 블로킹 I/O 단계를 작업당 가상 스레드로 실행하고 동시 실행 수만 제한
+     * CPU 렌더링은 그대로 RenderExecutor 의 고정 크기 플랫폼 스레드 풀에서 실행
+     */
+    @Bean(name = "photocardIoExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualPhotocardIoExecutor() {
+        return new BoundedExecutor(new VirtualThreadTaskExecutor("photocard-io-"), virtualMaxConcurrency);
+    }
+}
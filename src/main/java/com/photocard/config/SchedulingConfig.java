@@ -0,0 +1,13 @@
+package com.photocard.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업 (@Scheduled) 활성화
+ * - 고아 blob 정리 (OrphanBlobReconciler, photocard.reconciler.enabled)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
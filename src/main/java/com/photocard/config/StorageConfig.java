@@ -0,0 +1,148 @@
+package com.photocard.config;
+
+import com.photocard.repository.PhotocardBlobRepository;
+import com.photocard.service.AzureStorageService;
+import com.photocard.service.ContentAddressedPhotocardStorage;
+import com.photocard.service.DiskCachedPhotocardStorage;
+import com.photocard.service.InMemoryPhotocardStorage;
+import com.photocard.service.JpegEncoder;
+import com.photocard.service.MeteredPhotocardStorage;
+import com.photocard.service.PhotocardFileService;
+import com.photocard.service.PhotocardStorage;
+import com.photocard.service.TieredPhotocardStorage;
+import com.photocard.service.WriteBehindPhotocardStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Configuration
+@Slf4j
+public class StorageConfig implements DisposableBean {
+    
+    @Value("${photocard.storage.type:tiered}")
+    private String storageType;
+    
+    @Value("${photocard.storage.tiers:azure,local}")
+    private List<String> tierNames;
+    
+    @Value("${file.base-url}")
+    private String fileBaseUrl;
+    
+    @Value("${photocard.storage.content-addressed:false}")
+    private boolean contentAddressed;
+    
+    @Value("${photocard.storage.disk-cache.enabled:true}")
+    private boolean diskCacheEnabled;
+    
+    @Value("${photocard.storage.disk-cache.dir:./photocard-cache}")
+    private String diskCacheDir;
+    
+    @Value("${photocard.storage.disk-cache.max-bytes:536870912}")
+    private long diskCacheMaxBytes;
+    
+    @Value("${photocard.storage.disk-cache.retain-after-evict:1m}")
+    private Duration diskCacheRetainAfterEvict;
+    
+    @Value("${photocard.storage.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+    
+    @Value("${photocard.storage.write-behind.dir:./photocard-spool}")
+    private String writeBehindDir;
+    
+    @Value("${photocard.storage.write-behind.max-pending:10000}")
+    private int writeBehindMaxPending;
+    
+    @Value("${photocard.storage.write-behind.batch-size:32}")
+    private int writeBehindBatchSize;
+    
+    @Value("${photocard.storage.write-behind.upload-concurrency:4}")
+    private int writeBehindUploadConcurrency;
+    
+    @Value("${photocard.storage.write-behind.poll-interval:1s}")
+    private Duration writeBehindPollInterval;
+    
+    @Value("${photocard.storage.write-behind.retain-after-upload:1m}")
+    private Duration writeBehindRetainAfterUpload;
+    
+    // 다른 저장소로 감싸져 빈 자체가 아니므로 종료 처리는 이 설정에서 호출
+    private WriteBehindPhotocardStorage writeBehindStorage;
+    
+    /**
+     * 포토카드 이미지 저장소 선택
+     * - azure | local | memory: 단일 저장소
+     * - tiered: photocard.storage.tiers 순서로 조합 (저장은 첫 번째 계층)
+     * 각 저장소는 지연 시간 측정 래퍼로 감싸 저장소별 지표를 남김
+     * 원격 저장소(azure)는 로컬 디스크 read-through 캐시를 앞에 둠 (photocard.storage.disk-cache)
+     * photocard.storage.write-behind 이면 azure 저장은 로컬 스풀에 기록 후 백그라운드로 업로드
+     * photocard.storage.content-addressed 이면 SHA-256 fileId 로 저장해 같은 내용은 한 번만 업로드
+     */
+    @Bean
+    @Primary
+    public PhotocardStorage photocardStorage(AzureStorageService azureStorageService,
+                                             PhotocardFileService photocardFileService,
+                                             PhotocardBlobRepository photocardBlobRepository,
+                                             JpegEncoder jpegEncoder,
+                                             MeterRegistry meterRegistry) {
+        PhotocardStorage azure = new MeteredPhotocardStorage(azureStorageService, meterRegistry);
+        if (diskCacheEnabled) {
+            azure = new DiskCachedPhotocardStorage(azure, Paths.get(diskCacheDir), diskCacheMaxBytes,
+                    diskCacheRetainAfterEvict, meterRegistry);
+        }
+        if (writeBehindEnabled) {
+            writeBehindStorage = new WriteBehindPhotocardStorage(azure, jpegEncoder, Paths.get(writeBehindDir), fileBaseUrl,
+                    writeBehindMaxPending, writeBehindBatchSize, writeBehindUploadConcurrency,
+                    writeBehindPollInterval, writeBehindRetainAfterUpload, meterRegistry);
+            azure = writeBehindStorage;
+        }
+        
+        Map<String, PhotocardStorage> backends = Map.of(
+                "azure", azure,
+                "local", new MeteredPhotocardStorage(photocardFileService, meterRegistry),
+                "memory", new MeteredPhotocardStorage(new InMemoryPhotocardStorage(jpegEncoder, fileBaseUrl), meterRegistry));
+        
+        PhotocardStorage storage;
+        if ("tiered".equalsIgnoreCase(storageType)) {
+            List<PhotocardStorage> tiers = tierNames.stream()
+                    .map(String::trim)
+                    .map(name -> backend(backends, name))
+                    .collect(Collectors.toList());
+            storage = new TieredPhotocardStorage(tiers);
+        } else {
+            storage = backend(backends, storageType);
+        }
+        if (contentAddressed) {
+            storage = new ContentAddressedPhotocardStorage(storage, photocardBlobRepository, jpegEncoder, meterRegistry);
+        }
+        
+        log.info("포토카드 저장소 설정 - type: {}, tiers: {}, contentAddressed: {}", storageType, tierNames, contentAddressed);
+        return storage;
+    }
+    
+    /**
+     * 저장소 빈이 소멸된 뒤(설정 빈은 나중에 소멸) write-behind 업로더 종료
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writeBehindStorage != null) {
+            writeBehindStorage.destroy();
+        }
+    }
+    
+    private PhotocardStorage backend(Map<String, PhotocardStorage> backends, String name) {
+        PhotocardStorage backend = backends.get(name.toLowerCase());
+        if (backend == null) {
+            throw new IllegalArgumentException("지원하지 않는 저장소입니다: " + name + " (azure, local, memory, tiered)");
+        }
+        return backend;
+    }
+}
@@ -0,0 +1,48 @@
+package com.photocard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 응답(StreamingResponseBody) 실행기
+ * photocardIoExecutor 가 있어 Boot 의 applicationTaskExecutor 가 만들어지지 않으므로,
+ * 지정하지 않으면 MVC 가 요청마다 스레드를 새로 만드는 SimpleAsyncTaskExecutor 로 응답 본문을 씀
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+    
+    @Value("${photocard.web.async.pool-size:16}")
+    private int poolSize;
+    
+    @Value("${photocard.web.async.queue-capacity:100}")
+    private int queueCapacity;
+    
+    /**
+     * 응답 본문 기록용 고정 크기 풀
+     * 큐까지 가득 차면 요청 스레드에서 직접 기록 (거절하지 않으므로 스트리밍 허용 수가 새지 않음)
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("photocard-mvc-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+    
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+}
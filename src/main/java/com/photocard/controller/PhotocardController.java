@@ -1,25 +1,55 @@
 package com.photocard.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.photocard.dto.PhotocardBatchRequest;
+import com.photocard.dto.PhotocardBatchResponse;
 import com.photocard.dto.PhotocardCreateRequest;
+import com.photocard.dto.PhotocardCursor;
+import com.photocard.dto.PhotocardPage;
 import com.photocard.dto.PhotocardResponse;
+import com.photocard.exception.PhotocardImageNotFoundException;
+import com.photocard.exception.PhotocardUploadRejectedException;
+import com.photocard.exception.RenderQueueFullException;
 import com.photocard.service.PhotocardService;
-import com.photocard.service.AzureStorageService;
+import com.photocard.service.PhotocardStorage;
+import com.photocard.service.PhotocardVariant;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api")
@@ -28,8 +58,77 @@ import java.util.List;
 @Tag(name = "Photocard", description = "포토카드 관리 API")
 public class PhotocardController {
     
+    // 카드 이미지 캐시 기간 (내용이 바뀌지 않으므로 최대치)
+    private static final Duration IMAGE_CACHE_MAX_AGE = Duration.ofDays(365);
+    
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
     private final PhotocardService photocardService;
-    private final AzureStorageService azureStorageService;
+    private final PhotocardStorage photocardStorage;
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${photocard.batch.max-size:50}")
+    private int batchMaxSize;
+    
+    @Value("${photocard.list.default-page-size:100}")
+    private int defaultPageSize;
+    
+    @Value("${photocard.list.max-page-size:500}")
+    private int maxPageSize;
+    
+    // 동시 전체 스트리밍 수 (스트림마다 응답이 끝날 때까지 DB 커넥션 하나를 붙잡음)
+    private Semaphore streamPermits;
+    
+    @Value("${photocard.list.stream-retry-after:5s}")
+    private Duration streamRetryAfter;
+    
+    @Value("${photocard.storage.redirect.enabled:false}")
+    private boolean redirectEnabled;
+    
+    @Value("${photocard.storage.redirect.ttl:15m}")
+    private Duration redirectTtl;
+    
+    @Value("${photocard.list.max-concurrent-streams:4}")
+    void setMaxConcurrentStreams(int maxConcurrentStreams) {
+        this.streamPermits = new Semaphore(Math.max(1, maxConcurrentStreams));
+    }
+    
+    /**
+     * 포토카드 일괄 생성
+     * POST /api/photocards/batch
+     * 작품별로 동시에 렌더링/업로드하고 한 번에 저장, 일부 실패는 작품별 결과로 응답
+     */
+    @Operation(summary = "포토카드 일괄 생성", description = "여러 작품의 포토카드를 한 번에 생성합니다 (작품별 성공/실패 결과 반환)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "처리 완료 (작품별 결과 확인)"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 목록, 최대 개수 초과)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PostMapping(value = "/photocards/batch", consumes = "application/json")
+    public ResponseEntity<PhotocardBatchResponse> createPhotocards(
+            @Parameter(description = "포토카드 일괄 생성 요청", required = true)
+            @RequestBody PhotocardBatchRequest request) {
+        List<Long> artworkIds = request.getArtworkIds();
+        log.info("포토카드 일괄 생성 요청 - count: {}", artworkIds != null ? artworkIds.size() : 0);
+        
+        if (artworkIds == null || artworkIds.isEmpty() || artworkIds.size() > batchMaxSize
+                || artworkIds.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            PhotocardBatchResponse response = photocardService.createPhotocards(artworkIds);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("포토카드 일괄 생성 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
     
     /**
      * 포토카드 생성 (파일 업로드)
@@ -39,7 +138,8 @@ public class PhotocardController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "포토카드 생성 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청"),
-            @ApiResponse(responseCode = "500", description = "서버 오류")
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "렌더링 요청 과다 (Retry-After 이후 재시도)")
     })
     // @PostMapping(value = "/photocards", consumes = "multipart/form-data")
 
@@ -53,18 +153,25 @@ public class PhotocardController {
             PhotocardResponse response = photocardService.createPhotocard(request);
             log.info("포토카드 생성 완료 - ID: {}", response.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RenderQueueFullException e) {
+            log.warn("포토카드 생성 거절 (렌더링 큐 가득 참) - artworkId: {}", request.getArtworkId());
+            return serviceUnavailable(e);
         } catch (Exception e) {
             log.error("포토카드 생성 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
-    // 파일 업로드 API는 현재 비활성화
-    /*
-    @Operation(summary = "포토카드 생성 (파일 업로드)", description = "이미지 파일을 업로드하여 포토카드를 생성합니다")
+    /**
+     * 포토카드 생성 (파일 업로드)
+     * POST /api/photocards/upload (multipart/form-data)
+     */
+    @Operation(summary = "포토카드 생성 (파일 업로드)", description = "JPEG 이미지 파일을 업로드하여 포토카드를 생성합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "포토카드 생성 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "413", description = "이미지 용량 또는 크기 초과"),
+            @ApiResponse(responseCode = "415", description = "JPEG 이미지가 아님"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PostMapping(value = "/photocards/upload", consumes = "multipart/form-data")
@@ -84,12 +191,50 @@ public class PhotocardController {
             PhotocardResponse response = photocardService.createPhotocardWithFile(file, artworkId);
             log.info("포토카드 생성 완료 - ID: {}", response.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (PhotocardUploadRejectedException e) {
+            log.warn("포토카드 업로드 거절 - artworkId: {}, 사유: {}", artworkId, e.getMessage());
+            return ResponseEntity.status(e.getStatus()).build();
+        } catch (Exception e) {
+            log.error("포토카드 생성 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 포토카드 생성 (본문 스트리밍 업로드)
+     * POST /api/photocards/upload?artworkId={id} (Content-Type: image/jpeg)
+     * 요청 본문을 임시 파일이나 메모리에 모으지 않고 소켓에서 읽는 대로 저장소로 전달
+     * Content-Length 로 본문을 읽기 전에 크기를 검사
+     */
+    @Operation(summary = "포토카드 생성 (스트리밍 업로드)", description = "JPEG 바이트를 요청 본문으로 바로 보내 포토카드를 생성합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "포토카드 생성 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "411", description = "Content-Length 없음"),
+            @ApiResponse(responseCode = "413", description = "이미지 용량 또는 크기 초과"),
+            @ApiResponse(responseCode = "415", description = "JPEG 이미지가 아님"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PostMapping(value = "/photocards/upload", consumes = MediaType.IMAGE_JPEG_VALUE)
+    public ResponseEntity<PhotocardResponse> createPhotocardWithStream(
+            @Parameter(description = "작품 ID", required = true)
+            @RequestParam("artworkId") Long artworkId,
+            HttpServletRequest request) {
+        long length = request.getContentLengthLong();
+        log.info("포토카드 생성 요청 (스트리밍) - size: {}, artworkId: {}", length, artworkId);
+        
+        try {
+            PhotocardResponse response = photocardService.createPhotocardFromStream(request.getInputStream(), length, artworkId);
+            log.info("포토카드 생성 완료 - ID: {}", response.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (PhotocardUploadRejectedException e) {
+            log.warn("포토카드 업로드 거절 - artworkId: {}, 사유: {}", artworkId, e.getMessage());
+            return ResponseEntity.status(e.getStatus()).build();
         } catch (Exception e) {
             log.error("포토카드 생성 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-    */
     
     /**
      * 포토카드 조회
@@ -121,27 +266,93 @@ public class PhotocardController {
     
     /**
      * 작품별 포토카드 목록 조회
-     * GET /api/photocards?artworkId={artworkId}
+     * GET /api/photocards?artworkId={artworkId}&limit={n}&cursor={cursor}
+     * - limit 또는 cursor 지정: keyset 페이지 (다음 페이지는 Link rel="next" 헤더)
+     * - 둘 다 없으면: 전체 목록을 DB 에서 읽는 대로 JSON 배열로 스트리밍 (목록 크기와 무관하게 메모리 일정)
+     *   동시 스트리밍이 max-concurrent-streams 에 이르면 503 + Retry-After (부하 중에도 응답 형태를 바꾸지 않음)
      */
-    @Operation(summary = "작품별 포토카드 목록 조회", description = "작품 ID로 포토카드 목록을 조회합니다")
+    @Operation(summary = "작품별 포토카드 목록 조회",
+            description = "작품 ID로 포토카드 목록을 조회합니다. limit/cursor 를 지정하면 페이지 단위로, 없으면 전체를 스트리밍합니다")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "200", description = "조회 성공",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PhotocardResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서"),
+            @ApiResponse(responseCode = "503", description = "동시 전체 스트리밍 상한 도달 (Retry-After 이후 재시도)"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    @GetMapping("/photocards")
-    public ResponseEntity<List<PhotocardResponse>> getPhotocardsByArtwork(
-            @Parameter(description = "작품 ID", required = true) @RequestParam(name = "artworkId") Long artworkId) {
-        log.info("작품별 포토카드 조회 요청: {}", artworkId);
+    @GetMapping(value = "/photocards", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getPhotocardsByArtwork(
+            @Parameter(description = "작품 ID", required = true) @RequestParam(name = "artworkId") Long artworkId,
+            @Parameter(description = "페이지 크기 (최대 photocard.list.max-page-size)")
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @Parameter(description = "이전 응답 Link 헤더의 커서")
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("작품별 포토카드 조회 요청: {}, limit: {}, cursor: {}", artworkId, limit, cursor);
         
+        // 1. 스트리밍: 응답 본문을 쓰는 스레드에서 조회 트랜잭션을 열고 행 단위로 기록
+        if (limit == null && cursor == null) {
+            if (streamPermits.tryAcquire()) {
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(out -> {
+                            try {
+                                writeJsonArray(out, sink -> {
+                                    long count = photocardService.streamPhotocardsByArtworkId(artworkId, sink);
+                                    log.debug("작품별 포토카드 스트리밍 완료 - artworkId: {}, count: {}", artworkId, count);
+                                });
+                            } finally {
+                                streamPermits.release();
+                            }
+                        });
+            }
+            log.warn("작품별 포토카드 스트리밍 거절 (동시 스트리밍 상한 도달) - artworkId: {}", artworkId);
+            return serviceUnavailable(Math.max(1, streamRetryAfter.toSeconds()));
+        }
+        
+        // 2. keyset 페이지
         try {
-            List<PhotocardResponse> responses = photocardService.getPhotocardsByArtworkId(artworkId);
-            return ResponseEntity.ok(responses);
+            PhotocardCursor after = cursor != null ? PhotocardCursor.decode(cursor) : null;
+            int pageSize = Math.max(1, Math.min(limit != null ? limit : defaultPageSize, maxPageSize));
+            PhotocardPage page = photocardService.getPhotocardPage(artworkId, after, pageSize);
+            
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+            if (page.next() != null) {
+                String next = "/api/photocards?artworkId=" + artworkId + "&limit=" + pageSize
+                        + "&cursor=" + page.next().encode();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(out -> writeJsonArray(out, sink -> page.items().forEach(sink)));
+        } catch (IllegalArgumentException e) {
+            log.warn("작품별 포토카드 조회 - 잘못된 커서: {}", cursor);
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("작품별 포토카드 조회 실패: {}", artworkId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * 포토카드 응답을 받는 대로 JSON 배열 원소로 기록
+     */
+    private void writeJsonArray(OutputStream out, Consumer<Consumer<PhotocardResponse>> rows) throws IOException {
+        // 행마다 flush 하지 않고 응답 버퍼가 찰 때 전송
+        ObjectWriter writer = objectMapper.writerFor(PhotocardResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            rows.accept(photocard -> {
+                try {
+                    writer.writeValue(generator, photocard);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
     /**
      * 작품 선택 (Chat-Orchestra에서 호출)
      * POST /api/artworks/{artworkId}/select
@@ -149,7 +360,8 @@ public class PhotocardController {
     @Operation(summary = "작품 선택", description = "사용자가 선택한 작품으로 포토카드를 생성합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "작품 선택 성공"),
-            @ApiResponse(responseCode = "500", description = "서버 오류")
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "렌더링 요청 과다 (Retry-After 이후 재시도)")
     })
     @PostMapping(value = "/artworks/{artworkId}/select", consumes = "application/json")
     public ResponseEntity<PhotocardResponse> selectArtwork(
@@ -160,104 +372,189 @@ public class PhotocardController {
         try {
             PhotocardResponse response = photocardService.selectArtwork(artworkId);
             return ResponseEntity.ok(response);
+        } catch (RenderQueueFullException e) {
+            log.warn("작품 선택 거절 (렌더링 큐 가득 참) - artworkId: {}", artworkId);
+            return serviceUnavailable(e);
         } catch (Exception e) {
             log.error("작품 선택 실패 - artworkId: {}", artworkId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * 렌더링 큐가 가득 찬 경우(또는 동시 스트리밍 상한) 503 + Retry-After 응답
+     */
+    private <T> ResponseEntity<T> serviceUnavailable(RenderQueueFullException e) {
+        return serviceUnavailable(e.getRetryAfterSeconds());
+    }
+    
+    private <T> ResponseEntity<T> serviceUnavailable(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+    }
+    
     /**
      * 포토카드 다운로드
      * GET /api/photocards/{fileId}/download
      */
-    @Operation(summary = "포토카드 다운로드", description = "포토카드 이미지를 다운로드합니다")
+    @Operation(summary = "포토카드 다운로드", description = "포토카드 이미지를 다운로드합니다 (Range, If-None-Match 지원)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "다운로드 성공"),
+            @ApiResponse(responseCode = "206", description = "부분 다운로드 (Range)"),
+            @ApiResponse(responseCode = "302", description = "저장소 서명 URL 로 이동 (redirect 모드)"),
+            @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match)"),
             @ApiResponse(responseCode = "404", description = "파일을 찾을 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @GetMapping("/photocards/{fileId}/download")
     public ResponseEntity<Resource> downloadPhotocard(
-            @Parameter(description = "파일 ID", required = true) @PathVariable String fileId) {
+            @Parameter(description = "파일 ID", required = true) @PathVariable String fileId,
+            HttpServletRequest request) {
         log.info("포토카드 다운로드 요청: {}", fileId);
         
         try {
-            // Azure Storage에서 먼저 시도
-            try {
-                Resource resource = azureStorageService.loadPhotocardImage(fileId);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.IMAGE_JPEG)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, 
-                                "inline; filename=\"photocard_" + fileId + ".jpg\"")
-                        .body(resource);
-            } catch (Exception azureException) {
-                log.warn("Azure Storage에서 파일을 찾을 수 없음, 로컬 파일 확인: {}", azureException.getMessage());
-                
-                // 로컬 파일에서 시도
-                return loadLocalPhotocardImage(fileId);
+            String fileName = PhotocardVariant.FULL.fileName(fileId);
+            Optional<ResponseEntity<Resource>> redirect = signedRedirect(fileId, PhotocardVariant.FULL, fileName);
+            if (redirect.isPresent()) {
+                return redirect.get();
             }
+            Resource resource = photocardStorage.loadPhotocardImage(fileId);
+            return imageResponse(resource, request, fileName);
+        } catch (PhotocardImageNotFoundException e) {
+            log.error("포토카드 파일을 찾을 수 없음 - fileId: {}", fileId);
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             log.error("포토카드 다운로드 중 오류 발생 - fileId: {}", fileId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
-    /**
-     * 로컬 파일에서 포토카드 이미지 로드
-     */
-    private ResponseEntity<Resource> loadLocalPhotocardImage(String fileId) {
-        try {
-            String fileName = "photocard_" + fileId + ".jpg";
-            java.nio.file.Path filePath = java.nio.file.Paths.get("./uploads", fileName);
-            
-            if (java.nio.file.Files.exists(filePath)) {
-                Resource resource = new org.springframework.core.io.FileSystemResource(filePath);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.IMAGE_JPEG)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, 
-                                "inline; filename=\"" + fileName + "\"")
-                        .body(resource);
-            } else {
-                log.error("로컬 파일을 찾을 수 없음 - fileId: {}, path: {}", fileId, filePath);
-                return ResponseEntity.notFound().build();
-            }
-        } catch (Exception e) {
-            log.error("로컬 파일 로드 실패 - fileId: {}", fileId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
-    }
-    
     /**
      * 포토카드 미리보기
      * GET /api/photocards/{fileId}/preview
      */
-    @Operation(summary = "포토카드 미리보기", description = "포토카드 이미지를 미리보기합니다")
+    @Operation(summary = "포토카드 미리보기", description = "포토카드 이미지를 미리보기합니다 (size: thumbnail / preview / full)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "미리보기 성공"),
+            @ApiResponse(responseCode = "206", description = "부분 다운로드 (Range)"),
+            @ApiResponse(responseCode = "302", description = "저장소 서명 URL 로 이동 (redirect 모드)"),
+            @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match)"),
             @ApiResponse(responseCode = "404", description = "파일을 찾을 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @GetMapping("/photocards/{fileId}/preview")
     public ResponseEntity<Resource> previewPhotocard(
-            @Parameter(description = "파일 ID", required = true) @PathVariable String fileId) {
-        log.info("포토카드 미리보기 요청: {}", fileId);
+            @Parameter(description = "파일 ID", required = true) @PathVariable String fileId,
+            @Parameter(description = "이미지 크기 (thumbnail / preview / full)")
+            @RequestParam(name = "size", defaultValue = "preview") String size,
+            HttpServletRequest request) {
+        PhotocardVariant variant = PhotocardVariant.from(size);
+        log.info("포토카드 미리보기 요청: {}, variant: {}", fileId, variant);
         
         try {
-            // Azure Storage에서 먼저 시도
-            try {
-                Resource resource = azureStorageService.loadPhotocardImage(fileId);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.IMAGE_JPEG)
-                        .body(resource);
-            } catch (Exception azureException) {
-                log.warn("Azure Storage에서 파일을 찾을 수 없음, 로컬 파일 확인: {}", azureException.getMessage());
-                
-                // 로컬 파일에서 시도
-                return loadLocalPhotocardImage(fileId);
+            Optional<ResponseEntity<Resource>> redirect = signedRedirect(fileId, variant, null);
+            if (redirect.isPresent()) {
+                return redirect.get();
             }
+            Resource resource = loadPhotocardVariant(fileId, variant);
+            return imageResponse(resource, request, null);
+        } catch (PhotocardImageNotFoundException e) {
+            log.error("포토카드 파일을 찾을 수 없음 - fileId: {}, variant: {}", fileId, variant);
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             log.error("포토카드 미리보기 중 오류 발생 - fileId: {}", fileId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * redirect 모드: 저장소 서명 URL 로 302 응답 (이미지 바이트가 앱 노드를 거치지 않음)
+     * 변형이 없는 카드는 원본 서명 URL, 서명 URL 을 만들 수 없으면(스풀 대기, 이전 계층 등) empty → 직접 응답
+     */
+    private Optional<ResponseEntity<Resource>> signedRedirect(String fileId, PhotocardVariant variant, String fileName) {
+        if (!redirectEnabled) {
+            return Optional.empty();
+        }
+        Optional<String> url = photocardStorage.generateSignedUrl(fileId, variant, redirectTtl, fileName);
+        if (url.isEmpty() && variant != PhotocardVariant.FULL) {
+            url = photocardStorage.generateSignedUrl(fileId, PhotocardVariant.FULL, redirectTtl, fileName);
+        }
+        return url.map(location -> ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(location))
+                // 서명 URL 은 발급 후 최소 ttl 동안 유효하므로 그 절반 동안 redirect 자체를 캐시
+                .cacheControl(CacheControl.maxAge(redirectTtl.dividedBy(2)).cachePrivate())
+                .build());
+    }
+    
+    /**
+     * 포토카드 이미지 변형 로드 (변형이 없는 이전 카드는 원본으로 대체)
+     */
+    private Resource loadPhotocardVariant(String fileId, PhotocardVariant variant) {
+        try {
+            return photocardStorage.loadPhotocardImage(fileId, variant);
+        } catch (PhotocardImageNotFoundException e) {
+            if (variant == PhotocardVariant.FULL) {
+                throw e;
+            }
+            log.debug("포토카드 변형 없음, 원본으로 대체 - fileId: {}, variant: {}", fileId, variant);
+            return photocardStorage.loadPhotocardImage(fileId, PhotocardVariant.FULL);
+        }
+    }
+    
+    /**
+     * 포토카드 이미지 응답
+     * - 카드 이미지는 생성 후 바뀌지 않으므로 immutable 로 장기 캐시 (CDN/브라우저)
+     * - ETag 가 If-None-Match 와 같으면 본문 없이 304, Range 요청이면 206 (Spring MVC 가 처리)
+     * - 로컬 파일(디스크 캐시 적중 포함)은 Tomcat sendfile 로 전송 (FileChannel.transferTo, 커널에서 소켓으로 바로 복사)
+     * - 그 외에는 저장소 스트림에서 응답으로 바로 복사
+     */
+    private ResponseEntity<Resource> imageResponse(Resource resource, HttpServletRequest request, String fileName)
+            throws IOException {
+        String etag = etagOf(resource);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(IMAGE_CACHE_MAX_AGE).cachePublic().immutable());
+        if (fileName != null) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"");
+        }
+        
+        if (canSendfile(resource, request, etag)) {
+            long length = resource.contentLength();
+            request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return response.contentLength(length).build();
+        }
+        return response.body(resource);
+    }
+    
+    /**
+     * sendfile 사용 가능 여부
+     * 컨테이너가 지원하는 전체 파일 GET 요청만 (Range / 304 / HEAD 는 Spring MVC 기본 처리)
+     */
+    private boolean canSendfile(Resource resource, HttpServletRequest request, String etag) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                && resource.isFile()
+                && HttpMethod.GET.matches(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && !etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag);
+    }
+    
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        return ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag));
+    }
+    
+    /**
+     * 저장소 이미지 ETag
+     * 이미지는 바뀌지 않으므로 수정 시각 + 크기로 충분하며, 디스크 캐시 파일도 원격 수정 시각을 유지해 같은 값이 나옴
+     * 메모리 저장소는 수정 시각이 없으므로 내용 해시 사용
+     */
+    private String etagOf(Resource resource) throws IOException {
+        if (resource instanceof ByteArrayResource bytes) {
+            return "\"" + DigestUtils.md5DigestAsHex(bytes.getByteArray()) + "\"";
+        }
+        return "\"" + Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength()) + "\"";
+    }
 }
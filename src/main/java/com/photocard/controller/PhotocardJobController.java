@@ -0,0 +1,108 @@
+package com.photocard.controller;
+
+import com.photocard.dto.PhotocardCreateRequest;
+import com.photocard.dto.PhotocardJobResponse;
+import com.photocard.exception.RenderQueueFullException;
+import com.photocard.service.PhotocardJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+@Tag(name = "Photocard Job", description = "비동기 포토카드 생성 API")
+public class PhotocardJobController {
+    
+    private final PhotocardJobService photocardJobService;
+    private final long maxWaitSeconds;
+    
+    public PhotocardJobController(PhotocardJobService photocardJobService,
+                                  @Value("${photocard.jobs.max-wait:30s}") Duration maxWait) {
+        this.photocardJobService = photocardJobService;
+        this.maxWaitSeconds = maxWait.toSeconds();
+    }
+    
+    /**
+     * 포토카드 생성 작업 등록
+     * POST /api/photocard-jobs
+     */
+    @Operation(summary = "포토카드 생성 작업 등록", description = "포토카드 생성을 비동기로 시작하고 작업 ID를 즉시 반환합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "작업 등록 성공 (Location 헤더로 상태 조회)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "생성 요청 과다 (Retry-After 이후 재시도)")
+    })
+    @PostMapping(value = "/photocard-jobs", consumes = "application/json")
+    public ResponseEntity<PhotocardJobResponse> createPhotocardJob(
+            @Parameter(description = "포토카드 생성 요청", required = true)
+            @RequestBody PhotocardCreateRequest request) {
+        log.info("포토카드 생성 작업 요청 - artworkId: {}", request.getArtworkId());
+        
+        try {
+            PhotocardJobResponse response = photocardJobService.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/photocard-jobs/" + response.getJobId()))
+                    .body(response);
+        } catch (RenderQueueFullException e) {
+            log.warn("포토카드 생성 작업 거절 (큐 가득 참) - artworkId: {}", request.getArtworkId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        } catch (Exception e) {
+            log.error("포토카드 생성 작업 등록 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 포토카드 생성 작업 상태 조회
+     * GET /api/photocard-jobs/{jobId}?wait={seconds}
+     * wait 를 지정하면 작업이 끝나거나 시간이 지날 때까지 응답을 보류 (long-poll)
+     */
+    @Operation(summary = "포토카드 생성 작업 조회", description = "작업 상태를 조회합니다. wait(초)를 지정하면 완료될 때까지 대기합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "404", description = "작업을 찾을 수 없음 (만료 포함)")
+    })
+    @GetMapping("/photocard-jobs/{jobId}")
+    public DeferredResult<ResponseEntity<PhotocardJobResponse>> getPhotocardJob(
+            @Parameter(description = "작업 ID", required = true) @PathVariable String jobId,
+            @Parameter(description = "완료 대기 시간(초), 0이면 즉시 응답")
+            @RequestParam(name = "wait", defaultValue = "0") long wait) {
+        long waitSeconds = Math.max(0, Math.min(wait, maxWaitSeconds));
+        
+        // 대기 시간이 지나면 그 시점의 상태로 응답
+        DeferredResult<ResponseEntity<PhotocardJobResponse>> result = new DeferredResult<>(
+                Duration.ofSeconds(Math.max(1, waitSeconds)).toMillis(),
+                () -> photocardJobService.getJob(jobId)
+                        .map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.notFound().build()));
+        
+        Optional<CompletableFuture<PhotocardJobResponse>> done = photocardJobService.whenDone(jobId);
+        if (done.isEmpty()) {
+            result.setResult(ResponseEntity.notFound().build());
+        } else if (waitSeconds == 0 || done.get().isDone()) {
+            photocardJobService.getJob(jobId)
+                    .ifPresentOrElse(job -> result.setResult(ResponseEntity.ok(job)),
+                            () -> result.setResult(ResponseEntity.notFound().build()));
+        } else {
+            done.get().thenAccept(job -> result.setResult(ResponseEntity.ok(job)));
+        }
+        return result;
+    }
+}
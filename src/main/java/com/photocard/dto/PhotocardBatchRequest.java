@@ -0,0 +1,22 @@
+package com.photocard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "포토카드 일괄 생성 요청")
+public class PhotocardBatchRequest {
+    
+    @NotEmpty(message = "작품 ID 목록은 필수입니다")
+    @Schema(description = "작품 ID 목록 (중복은 한 번만 생성)", example = "[1, 2, 3]", required = true)
+    private List<Long> artworkIds;
+}
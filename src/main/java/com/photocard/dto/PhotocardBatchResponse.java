@@ -0,0 +1,43 @@
+package com.photocard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "포토카드 일괄 생성 응답")
+public class PhotocardBatchResponse {
+    
+    @Schema(description = "생성 성공 건수", example = "2")
+    private int succeeded;
+    
+    @Schema(description = "생성 실패 건수", example = "1")
+    private int failed;
+    
+    @Schema(description = "작품별 결과 (요청 순서)")
+    private List<Item> results;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "작품별 생성 결과")
+    public static class Item {
+        
+        @Schema(description = "작품 ID", example = "1")
+        private Long artworkId;
+        
+        @Schema(description = "생성된 포토카드 (성공 시)")
+        private PhotocardResponse photocard;
+        
+        @Schema(description = "실패 사유 (실패 시)")
+        private String errorMessage;
+    }
+}
@@ -0,0 +1,41 @@
+package com.photocard.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 작품별 포토카드 목록 keyset 커서 (마지막으로 받은 행의 created_at, id)
+ * 클라이언트에는 불투명한 base64url 문자열로 전달
+ */
+public record PhotocardCursor(LocalDateTime createdAt, Long id) {
+    
+    private static final String SEPARATOR = "|";
+    
+    public static PhotocardCursor after(PhotocardResponse photocard) {
+        return new PhotocardCursor(photocard.getCreatedAt(), photocard.getId());
+    }
+    
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 커서 문자열 해석 (형식이 맞지 않으면 IllegalArgumentException)
+     */
+    public static PhotocardCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+            return new PhotocardCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
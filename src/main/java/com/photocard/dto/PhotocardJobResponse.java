@@ -0,0 +1,38 @@
+package com.photocard.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "비동기 포토카드 생성 작업 응답")
+public class PhotocardJobResponse {
+    
+    @Schema(description = "작업 ID", example = "3f2c1d9e-5b7a-4c1e-9f0d-2a6b8c4e1f3a")
+    private String jobId;
+    
+    @Schema(description = "작품 ID", example = "1")
+    private Long artworkId;
+    
+    @Schema(description = "작업 상태", example = "RENDERING")
+    private PhotocardJobStatus status;
+    
+    @Schema(description = "생성된 포토카드 (COMPLETED 상태에서만)")
+    private PhotocardResponse photocard;
+    
+    @Schema(description = "실패 사유 (FAILED 상태에서만)")
+    private String errorMessage;
+    
+    @Schema(description = "작업 생성일시", example = "2024-01-01T12:00:00")
+    private LocalDateTime createdAt;
+    
+    @Schema(description = "마지막 상태 변경일시", example = "2024-01-01T12:00:01")
+    private LocalDateTime updatedAt;
+}
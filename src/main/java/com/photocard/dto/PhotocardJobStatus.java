@@ -0,0 +1,17 @@
+package com.photocard.dto;
+
+/**
+ * 비동기 포토카드 생성 작업 상태
+ */
+public enum PhotocardJobStatus {
+    QUEUED,
+    FETCHING_ARTWORK,
+    RENDERING,
+    UPLOADING,
+    COMPLETED,
+    FAILED;
+    
+    public boolean isDone() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
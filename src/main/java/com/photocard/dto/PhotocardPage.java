@@ -0,0 +1,9 @@
+package com.photocard.dto;
+
+import java.util.List;
+
+/**
+ * 작품별 포토카드 목록 한 페이지 (next 가 null 이면 마지막 페이지)
+ */
+public record PhotocardPage(List<PhotocardResponse> items, PhotocardCursor next) {
+}
@@ -0,0 +1,34 @@
+package com.photocard.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 작품 선택 시 응답하는 대표 포토카드
+ * artwork_id 가 기본 키이므로 여러 인스턴스가 동시에 생성해도 작품당 한 건만 기록됨
+ */
+@Entity
+@Table(name = "artwork_photocards")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArtworkPhotocard {
+    
+    @Id
+    @Column(name = "artwork_id")
+    private Long artworkId;
+    
+    @Column(name = "photocard_id", nullable = false)
+    private Long photocardId;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -10,7 +10,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "photocards")
+@Table(name = "photocards", indexes = {
+        // 작품별 목록 keyset 페이지 (artwork_id = ? AND (created_at, id) > (?, ?) ORDER BY created_at, id)
+        @Index(name = "idx_photocards_artwork_created_id", columnList = "artwork_id, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,41 @@
+package com.photocard.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 모드로 저장된 포토카드 이미지
+ * 원본 이미지 바이트의 SHA-256 이 곧 저장소 fileId (photocard_{contentHash}.jpg)
+ */
+@Entity
+@Table(name = "photocard_blobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhotocardBlob {
+    
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+    
+    @Column(name = "download_url", columnDefinition = "TEXT", nullable = false)
+    private String downloadUrl;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // 마지막으로 저장(같은 내용 재사용 포함)된 시각 (고아 blob 정리가 최근 참조된 blob 을 지우지 않도록)
+    @Column(name = "last_referenced_at", nullable = false)
+    private LocalDateTime lastReferencedAt;
+}
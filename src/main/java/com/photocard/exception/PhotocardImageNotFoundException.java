@@ -0,0 +1,12 @@
+package com.photocard.exception;
+
+/**
+ * 저장소에 포토카드 이미지가 없을 때 발생
+ * 계층형 저장소는 이 경우 다음 계층에서 조회하고, 컨트롤러는 404 로 변환
+ */
+public class PhotocardImageNotFoundException extends RuntimeException {
+    
+    public PhotocardImageNotFoundException(String fileName) {
+        super("파일을 찾을 수 없습니다: " + fileName);
+    }
+}
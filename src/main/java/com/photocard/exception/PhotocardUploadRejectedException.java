@@ -0,0 +1,19 @@
+package com.photocard.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 업로드된 포토카드 이미지를 저장 전에 거절할 때 발생 (크기 초과, 길이 없음, JPEG 아님 등)
+ * 컨트롤러에서 status 그대로 응답
+ */
+@Getter
+public class PhotocardUploadRejectedException extends RuntimeException {
+    
+    private final HttpStatus status;
+    
+    public PhotocardUploadRejectedException(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+}
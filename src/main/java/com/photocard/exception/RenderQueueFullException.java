@@ -0,0 +1,18 @@
+package com.photocard.exception;
+
+import lombok.Getter;
+
+/**
+ * 렌더링 작업 큐가 가득 차서 요청을 즉시 거절할 때 발생
+ * 컨트롤러에서 503 + Retry-After 로 변환
+ */
+@Getter
+public class RenderQueueFullException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public RenderQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,23 @@
+package com.photocard.repository;
+
+import com.photocard.entity.ArtworkPhotocard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ArtworkPhotocardRepository extends JpaRepository<ArtworkPhotocard, Long> {
+    
+    /**
+     * 작품의 대표 포토카드 등록
+     * save() 는 이미 있는 행을 덮어쓰므로 INSERT 로만 기록 (이미 있으면 DataIntegrityViolationException)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO artwork_photocards (artwork_id, photocard_id) VALUES (:artworkId, :photocardId)",
+            nativeQuery = true)
+    int insert(@Param("artworkId") Long artworkId, @Param("photocardId") Long photocardId);
+}
@@ -0,0 +1,32 @@
+package com.photocard.repository;
+
+import com.photocard.entity.PhotocardBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PhotocardBlobRepository extends JpaRepository<PhotocardBlob, String> {
+    
+    /**
+     * 같은 내용을 재사용할 때 마지막 참조 시각 갱신
+     * 0 이면 그 사이 고아 blob 정리가 행을 지운 것이므로 재사용하지 않아야 함
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PhotocardBlob b SET b.lastReferencedAt = :referencedAt WHERE b.contentHash = :contentHash")
+    int touch(@Param("contentHash") String contentHash, @Param("referencedAt") LocalDateTime referencedAt);
+    
+    /**
+     * cutoff 이후 참조되지 않은 경우에만 행 삭제 (1 이면 삭제함, 그 blob 은 지워도 됨)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PhotocardBlob b WHERE b.contentHash = :contentHash AND b.lastReferencedAt < :cutoff")
+    int deleteIfUnreferencedSince(@Param("contentHash") String contentHash, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,14 +1,69 @@
 package com.photocard.repository;
 
+import com.photocard.dto.PhotocardResponse;
 import com.photocard.entity.Photocard;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PhotocardRepository extends JpaRepository<Photocard, Long> {
-
-    List<Photocard> findByArtworkId(Long artworkId);
+    
+    /**
+     * 작품의 가장 먼저 생성된 포토카드 1건 (LIMIT 1, 전체 목록을 올리지 않음)
+     */
+    Optional<Photocard> findFirstByArtworkIdOrderByIdAsc(Long artworkId);
+    
+    /**
+     * 작품별 포토카드 첫 페이지 (created_at, id 순, 인덱스 idx_photocards_artwork_created_id)
+     * 응답 DTO 로 바로 조회해 영속성 컨텍스트에 엔티티를 올리지 않음
+     */
+    @Query("SELECT new com.photocard.dto.PhotocardResponse(p.id, p.artworkId, p.downloadUrl, p.createdAt) "
+            + "FROM Photocard p WHERE p.artworkId = :artworkId ORDER BY p.createdAt ASC, p.id ASC")
+    List<PhotocardResponse> findPageByArtworkId(@Param("artworkId") Long artworkId, Pageable pageable);
+    
+    /**
+     * 작품별 포토카드 다음 페이지 ((created_at, id) 가 커서보다 뒤인 행)
+     */
+    @Query("SELECT new com.photocard.dto.PhotocardResponse(p.id, p.artworkId, p.downloadUrl, p.createdAt) "
+            + "FROM Photocard p WHERE p.artworkId = :artworkId "
+            + "AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) "
+            + "ORDER BY p.createdAt ASC, p.id ASC")
+    List<PhotocardResponse> findPageByArtworkIdAfter(@Param("artworkId") Long artworkId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+    
+    /**
+     * 작품별 포토카드 전체를 읽는 대로 흘려 보냄 (트랜잭션 안에서 사용 후 닫아야 함)
+     * MySQL 드라이버는 fetch size 가 Integer.MIN_VALUE 일 때 결과를 한 행씩 스트리밍
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.photocard.dto.PhotocardResponse(p.id, p.artworkId, p.downloadUrl, p.createdAt) "
+            + "FROM Photocard p WHERE p.artworkId = :artworkId ORDER BY p.createdAt ASC, p.id ASC")
+    Stream<PhotocardResponse> streamByArtworkId(@Param("artworkId") Long artworkId);
+    
+    /**
+     * id 기준 keyset 페이지로 다운로드 URL 만 조회 (엔티티 전체를 올리지 않음)
+     */
+    List<PhotocardDownloadUrl> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    interface PhotocardDownloadUrl {
+        Long getId();
+        
+        String getDownloadUrl();
+    }
 }
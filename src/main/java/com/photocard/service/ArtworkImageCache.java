@@ -0,0 +1,134 @@
+package com.photocard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 디코딩된 작품 이미지 캐시
+ * - 이미지 URL 기준으로 BufferedImage 를 보관 (W-TinyLFU 정책)
+ * - 항목 수가 아닌 래스터 바이트 합계로 상한을 둠
+ * - 캐시된 이미지는 여러 요청이 공유하므로 읽기 전용으로만 사용해야 함
+ */
+@Component
+@Slf4j
+public class ArtworkImageCache {
+
+    private static final String CACHE_NAME = "artworkImages";
+
+    private final Cache<String, BufferedImage> cache;
+    private final ConcurrentMap<String, CompletableFuture<BufferedImage>> loads = new ConcurrentHashMap<>();
+
+    public ArtworkImageCache(MeterRegistry meterRegistry,
+                             @Value("${image.cache.max-bytes:134217728}") long maxBytes,
+                             @Value("${image.cache.expire-after-access:6h}") Duration expireAfterAccess) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String url, BufferedImage image) -> rasterBytes(image))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+
+        // hit/miss/eviction 지표를 actuator(/actuator/metrics/cache.*)로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("artwork.image.cache.bytes", cache,
+                        c -> c.policy().eviction()
+                                .map(eviction -> eviction.weightedSize().orElse(0L))
+                                .orElse(0L))
+                .description("캐시된 작품 이미지 래스터 바이트 합계")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        log.info("작품 이미지 캐시 초기화 - maxBytes: {}, expireAfterAccess: {}", maxBytes, expireAfterAccess);
+    }
+
+    /**
+     * 캐시에서 이미지 조회, 없으면 loader 로 로드 후 캐시
+     * loader 가 null 을 반환하면 캐시하지 않음
+     * 같은 URL 의 동시 요청은 한 번만 로드하며, 로드(네트워크 I/O)는 캐시 내부 락 밖에서 실행
+     * (가상 스레드에서 compute 락을 잡은 채 블로킹하면 캐리어 스레드가 고정되므로)
+     */
+    public BufferedImage get(String imageUrl, ImageLoader loader) throws IOException {
+        BufferedImage cached = cache.getIfPresent(imageUrl);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<BufferedImage> loading = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> inFlight = loads.putIfAbsent(imageUrl, loading);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            BufferedImage image = loader.load();
+            if (image != null) {
+                cache.put(imageUrl, image);
+            }
+            loading.complete(image);
+            return image;
+        } catch (Throwable e) {
+            // Error(큰 이미지 디코딩 중 OutOfMemoryError 등)도 완료시켜야 대기 중인 요청이 풀려남 (그대로 다시 던짐)
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(imageUrl, loading);
+        }
+    }
+
+    /**
+     * 다른 요청이 로드 중인 이미지 대기
+     */
+    private static BufferedImage await(CompletableFuture<BufferedImage> inFlight) throws IOException {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    /**
+     * 캐시 항목 제거
+     */
+    public void invalidate(String imageUrl) {
+        cache.invalidate(imageUrl);
+    }
+
+    /**
+     * 래스터가 차지하는 바이트 수 계산
+     */
+    private static int rasterBytes(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        long bytes = (long) buffer.getSize() * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 이미지 로더
+     */
+    @FunctionalInterface
+    public interface ImageLoader {
+        BufferedImage load() throws IOException;
+    }
+}
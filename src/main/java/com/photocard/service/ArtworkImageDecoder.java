@@ -0,0 +1,102 @@
+package com.photocard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.util.Iterator;
+
+/**
+ * 작품 이미지 디코더
+ * - 이미지 헤더에서 원본 크기만 먼저 읽고
+ * - 목표 영역을 덮는 범위에서 가장 큰 서브샘플링 간격으로 디코딩
+ * - 수천만 픽셀 원본 스캔도 전체 래스터를 만들지 않고 필요한 해상도만 힙에 올림
+ */
+@Component
+@Slf4j
+public class ArtworkImageDecoder {
+    
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final RemoteCallRecorder remoteCallRecorder;
+    
+    public ArtworkImageDecoder(RemoteCallRecorder remoteCallRecorder,
+                               @Value("${image.fetch.connect-timeout:5s}") Duration connectTimeout,
+                               @Value("${image.fetch.read-timeout:20s}") Duration readTimeout) {
+        this.remoteCallRecorder = remoteCallRecorder;
+        this.connectTimeoutMillis = (int) connectTimeout.toMillis();
+        this.readTimeoutMillis = (int) readTimeout.toMillis();
+    }
+    
+    /**
+     * URL 의 이미지를 목표 크기(targetWidth x targetHeight)를 덮는 해상도로 디코딩
+     * 지원하는 ImageReader 가 없으면 null 반환
+     */
+    public BufferedImage decode(URL url, int targetWidth, int targetHeight) throws IOException {
+        remoteCallRecorder.record(RemoteCallRecorder.ARTWORK_IMAGE, "get");
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(connectTimeoutMillis);
+        connection.setReadTimeout(readTimeoutMillis);
+        
+        try (InputStream in = connection.getInputStream();
+             ImageInputStream iis = new MemoryCacheImageInputStream(in)) {
+            return decode(iis, targetWidth, targetHeight);
+        }
+    }
+    
+    /**
+     * 이미지 스트림을 목표 크기를 덮는 해상도로 디코딩
+     */
+    public BufferedImage decode(ImageInputStream iis, int targetWidth, int targetHeight) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(iis, true, true);
+            
+            // 1. 헤더에서 원본 크기 확인
+            int sourceWidth = reader.getWidth(0);
+            int sourceHeight = reader.getHeight(0);
+            
+            // 2. 목표 영역을 덮는 최대 서브샘플링 간격 계산
+            int subsampling = subsamplingFor(sourceWidth, sourceHeight, targetWidth, targetHeight);
+            ImageReadParam param = reader.getDefaultReadParam();
+            if (subsampling > 1) {
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            }
+            
+            // 3. 서브샘플링된 해상도로 디코딩
+            BufferedImage image = reader.read(0, param);
+            log.debug("작품 이미지 디코딩 - format: {}, source: {}x{}, subsampling: {}, decoded: {}x{}",
+                    reader.getFormatName(), sourceWidth, sourceHeight, subsampling,
+                    image.getWidth(), image.getHeight());
+            return image;
+        } finally {
+            reader.dispose();
+        }
+    }
+    
+    /**
+     * 디코딩 결과가 목표 영역의 가로/세로를 모두 덮는 최대 서브샘플링 간격
+     */
+    static int subsamplingFor(int sourceWidth, int sourceHeight, int targetWidth, int targetHeight) {
+        if (targetWidth <= 0 || targetHeight <= 0) {
+            return 1;
+        }
+        return Math.max(1, Math.min(sourceWidth / targetWidth, sourceHeight / targetHeight));
+    }
+}
@@ -0,0 +1,89 @@
+package com.photocard.service;
+
+import com.photocard.dto.PhotocardResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 작품 선택 요청 single-flight
+ * - 같은 artworkId 로 동시에 들어온 선택 요청은 먼저 온 요청의 생성 결과를 함께 받음 (렌더링/업로드 1회)
+ * - 생성이 끝나면 바로 목록에서 빠지므로 결과를 보관하지 않음 (이후 요청은 DB 에서 조회)
+ * - 인스턴스 사이의 중복은 artwork_photocards 기본 키로 막음 (PhotocardService.selectArtwork)
+ * 지표: photocard.selection{result=created|coalesced|duplicate}, photocard.selection.inflight
+ */
+@Component
+@Slf4j
+public class ArtworkSelectionCoalescer {
+    
+    private final Map<Long, CompletableFuture<PhotocardResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter created;
+    private final Counter coalesced;
+    private final Counter duplicates;
+    
+    public ArtworkSelectionCoalescer(MeterRegistry meterRegistry) {
+        this.created = Counter.builder("photocard.selection")
+                .description("작품 선택 요청 처리 결과")
+                .tag("result", "created")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("photocard.selection")
+                .description("작품 선택 요청 처리 결과")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("photocard.selection")
+                .description("작품 선택 요청 처리 결과")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+        Gauge.builder("photocard.selection.inflight", inFlight, Map::size)
+                .description("생성 중인 작품 선택 요청 수 (artworkId 기준)")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * artworkId 당 create 를 한 번만 실행하고, 실행 중에 들어온 요청은 같은 결과(또는 같은 예외)를 받음
+     */
+    public PhotocardResponse coalesce(Long artworkId, Supplier<PhotocardResponse> create) {
+        CompletableFuture<PhotocardResponse> flight = new CompletableFuture<>();
+        CompletableFuture<PhotocardResponse> existing = inFlight.putIfAbsent(artworkId, flight);
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("진행 중인 작품 선택 결과를 기다림 - artworkId: {}", artworkId);
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        
+        created.increment();
+        try {
+            PhotocardResponse response = create.get();
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(artworkId, flight);
+        }
+    }
+    
+    /**
+     * 다른 인스턴스가 먼저 대표 포토카드를 등록해 이 인스턴스의 생성 결과를 버린 경우
+     */
+    public void recordDuplicate(Long artworkId) {
+        duplicates.increment();
+        log.info("다른 인스턴스가 먼저 작품 대표 포토카드를 등록 - artworkId: {}", artworkId);
+    }
+}
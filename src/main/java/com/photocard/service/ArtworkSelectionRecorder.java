@@ -0,0 +1,244 @@
+package com.photocard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작품 선택 이벤트 기록 (photocard.selection-events)
+ * - record 는 요청 스레드를 막지 않음: 잠금 없는 큐에 넣고 바로 반환 (가득 차면 버리고 지표만 증가)
+ * - 큐가 batch-size 만큼 차거나 flush-interval 이 지나면 artwork_selections 에 다중 행 INSERT 로 기록
+ * - 작품별 선택 수는 메모리 카운터(LongAdder)에 모았다가 snapshot-interval 마다
+ *   artwork_selection_counts 에 증가분만 더함 (여러 인스턴스가 같은 행에 더해도 합계가 맞음)
+ * - 기록은 전용 스레드 하나에서만 실행되므로 flush 와 snapshot 이 겹치지 않음
+ */
+@Component
+@Slf4j
+public class ArtworkSelectionRecorder implements DisposableBean {
+    
+    // MySQL 전용 구문 (ON DUPLICATE KEY UPDATE ... VALUES()), H2 로 실행할 때는 MODE=MySQL 필요
+    private static final String UPSERT_COUNT_SQL =
+            "INSERT INTO artwork_selection_counts (artwork_id, selection_count) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE selection_count = selection_count + VALUES(selection_count)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final Queue<SelectionEvent> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Map<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    
+    public ArtworkSelectionRecorder(JdbcTemplate jdbcTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${photocard.selection-events.enabled:true}") boolean enabled,
+                                    @Value("${photocard.selection-events.queue-capacity:10000}") int capacity,
+                                    @Value("${photocard.selection-events.batch-size:200}") int batchSize,
+                                    @Value("${photocard.selection-events.flush-interval:1s}") Duration flushInterval,
+                                    @Value("${photocard.selection-events.snapshot-interval:1m}") Duration snapshotInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        
+        this.accepted = Counter.builder("photocard.selection.events")
+                .description("작품 선택 이벤트 처리 결과")
+                .tag("result", "queued")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("photocard.selection.events")
+                .description("작품 선택 이벤트 처리 결과")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        this.written = Counter.builder("photocard.selection.events")
+                .description("작품 선택 이벤트 처리 결과")
+                .tag("result", "written")
+                .register(meterRegistry);
+        this.failed = Counter.builder("photocard.selection.events")
+                .description("작품 선택 이벤트 처리 결과")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        Gauge.builder("photocard.selection.events.queued", queued, AtomicInteger::get)
+                .description("DB 기록을 기다리는 작품 선택 이벤트 수")
+                .register(meterRegistry);
+        
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("photocard-selection-");
+        threads.setDaemon(true);
+        this.writer = Executors.newSingleThreadScheduledExecutor(threads);
+        if (enabled) {
+            writer.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+            writer.scheduleWithFixedDelay(this::snapshot, snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("작품 선택 이벤트 기록 초기화 - enabled: {}, queueCapacity: {}, batchSize: {}, flushInterval: {}, snapshotInterval: {}",
+                enabled, this.capacity, this.batchSize, flushInterval, snapshotInterval);
+    }
+    
+    /**
+     * 작품 선택 1회 기록 (블로킹 없음)
+     */
+    public void record(Long artworkId) {
+        if (!enabled) {
+            return;
+        }
+        // snapshot 이 빈 카운터를 제거하는 것과 겹치지 않도록 증가는 compute 안에서 수행
+        counts.compute(artworkId, (id, adder) -> {
+            LongAdder counter = adder != null ? adder : new LongAdder();
+            counter.increment();
+            return counter;
+        });
+        
+        // 큐 크기 상한은 카운터로 관리 (ConcurrentLinkedQueue.size() 는 O(n))
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        events.offer(new SelectionEvent(artworkId, LocalDateTime.now()));
+        accepted.increment();
+        
+        // batch-size 만큼 쌓이면 주기를 기다리지 않고 기록 (요청이 몰려도 한 번만 예약)
+        if (queued.get() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+            }
+        }
+    }
+    
+    /**
+     * 큐의 이벤트를 batch-size 개씩 다중 행 INSERT 로 기록
+     * 실패한 묶음은 다시 넣지 않음 (선택 수는 카운터 snapshot 으로 따로 보존)
+     */
+    private void flush() {
+        flushRequested.set(false);
+        try {
+            List<SelectionEvent> batch = new ArrayList<>(batchSize);
+            while (true) {
+                SelectionEvent event;
+                while (batch.size() < batchSize && (event = events.poll()) != null) {
+                    queued.decrementAndGet();
+                    batch.add(event);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                // 실패하면 남은 이벤트는 다음 주기에 기록 (DB 장애 중 큐를 한 번에 비우지 않음)
+                if (!insert(batch) || batch.size() < batchSize) {
+                    return;
+                }
+                batch.clear();
+            }
+        } catch (RuntimeException e) {
+            // 예외가 전파되면 주기 실행이 멈추므로 기록만 남김
+            log.error("작품 선택 이벤트 기록 실패", e);
+        }
+    }
+    
+    private boolean insert(List<SelectionEvent> batch) {
+        StringBuilder sql = new StringBuilder("INSERT INTO artwork_selections (artwork_id, selected_at) VALUES ");
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            args[i * 2] = batch.get(i).artworkId();
+            args[i * 2 + 1] = Timestamp.valueOf(batch.get(i).selectedAt());
+        }
+        
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+            written.increment(batch.size());
+            log.debug("작품 선택 이벤트 기록 - count: {}", batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("작품 선택 이벤트 기록 실패, 버림 - count: {}, 오류: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * 작품별 선택 수 증가분을 artwork_selection_counts 에 더함
+     * 기록에 실패하면 증가분을 카운터에 되돌려 다음 snapshot 에서 다시 시도
+     */
+    private void snapshot() {
+        try {
+            List<Object[]> deltas = new ArrayList<>();
+            for (Long artworkId : counts.keySet()) {
+                // sumThenReset 은 동시 증가가 없을 때만 정확하므로 record 의 증가와 같은 버킷 잠금(computeIfPresent) 안에서 수행
+                // 한 주기 동안 선택이 없던 작품은 카운터를 제거해 맵이 작품 수만큼 계속 커지지 않게 함
+                long[] delta = new long[1];
+                counts.computeIfPresent(artworkId, (id, adder) -> {
+                    delta[0] = adder.sumThenReset();
+                    return delta[0] > 0 ? adder : null;
+                });
+                if (delta[0] > 0) {
+                    deltas.add(new Object[]{artworkId, delta[0]});
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+            
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_COUNT_SQL, deltas);
+                log.debug("작품별 선택 수 snapshot 기록 - artworks: {}", deltas.size());
+            } catch (RuntimeException e) {
+                for (Object[] delta : deltas) {
+                    counts.compute((Long) delta[0], (id, adder) -> {
+                        LongAdder counter = adder != null ? adder : new LongAdder();
+                        counter.add((Long) delta[1]);
+                        return counter;
+                    });
+                }
+                log.warn("작품별 선택 수 snapshot 기록 실패, 다음 주기에 재시도 - artworks: {}, 오류: {}",
+                        deltas.size(), e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            log.error("작품별 선택 수 snapshot 실패", e);
+        }
+    }
+    
+    /**
+     * 종료 시 남은 이벤트와 선택 수를 기록
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+        if (enabled) {
+            flush();
+            snapshot();
+        }
+    }
+    
+    private record SelectionEvent(Long artworkId, LocalDateTime selectedAt) {
+    }
+}
@@ -1,22 +1,60 @@
 package com.photocard.service;
 
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.core.http.rest.Response;
+import com.azure.core.util.BinaryData;
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.batch.BlobBatchClientBuilder;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import com.azure.storage.blob.options.BlockBlobSimpleUploadOptions;
+import com.azure.storage.blob.sas.BlobSasPermission;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.blob.specialized.BlobOutputStream;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.photocard.exception.PhotocardImageNotFoundException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
-import java.net.URL;
-import java.util.UUID;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
-public class AzureStorageService {
+public class AzureStorageService implements PhotocardStorage {
+    
+    // 없는 blob 을 다시 확인하기까지의 시간 (그동안 없는 카드의 반복 요청은 exists 호출 없이 대체 응답)
+    private static final Duration MISSING_BLOB_TTL = Duration.ofSeconds(30);
+    
+    private final JpegEncoder jpegEncoder;
+    private final RemoteCallRecorder remoteCallRecorder;
     
     @Value("${azure.storage.connection-string}")
     private String connectionString;
@@ -27,6 +65,25 @@ public class AzureStorageService {
     @Value("${azure.storage.base-url:https://guidely-phtotcardmaker-g9hqaacaadcwdhfn.koreacentral-01.azurewebsites.net}")
     private String baseUrl;
     
+    // 클라이언트는 처음 사용할 때 한 번만 생성하고 재사용 (컨테이너 확인도 이때 한 번)
+    private volatile BlobContainerClient containerClient;
+    
+    // 서명 URL 발급 시 존재를 확인한 blob 이름
+    private final Cache<String, Boolean> existingBlobs = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+    
+    // 없다고 확인한 blob 이름 (업로드 대기 중일 수 있으므로 짧게만 기억, 이 노드에서 업로드하면 바로 제거)
+    private final Cache<String, Boolean> missingBlobs = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(MISSING_BLOB_TTL)
+            .build();
+    
+    @Override
+    public String name() {
+        return "azure";
+    }
+    
     private BlobServiceClient getBlobServiceClient() {
         if (connectionString == null || connectionString.trim().isEmpty()) {
             log.error("Azure Storage 연결 문자열이 설정되지 않았습니다. connectionString: '{}'", connectionString);
@@ -44,34 +101,46 @@ public class AzureStorageService {
     }
     
     private BlobContainerClient getContainerClient() {
-        BlobServiceClient blobServiceClient = getBlobServiceClient();
-        BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
-        
-        // 컨테이너가 없으면 생성
-        if (!containerClient.exists()) {
-            containerClient.create();
-            log.info("Azure Storage 컨테이너 생성: {}", containerName);
+        BlobContainerClient client = containerClient;
+        if (client != null) {
+            return client;
         }
         
-        return containerClient;
+        synchronized (this) {
+            if (containerClient == null) {
+                BlobContainerClient created = getBlobServiceClient().getBlobContainerClient(containerName);
+                
+                // 컨테이너가 없으면 생성
+                remoteCallRecorder.record(RemoteCallRecorder.AZURE, "create-container");
+                if (created.createIfNotExists()) {
+                    log.info("Azure Storage 컨테이너 생성: {}", containerName);
+                }
+                containerClient = created;
+            }
+            return containerClient;
+        }
     }
     
     /**
-     * 포토카드 이미지를 Azure Storage에 저장
+     * 인코딩된 포토카드 이미지 변형을 Azure Storage에 저장
      */
-    public String savePhotocardImage(byte[] imageData) {
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData) {
         try {
-            String fileId = UUID.randomUUID().toString();
-            String fileName = "photocard_" + fileId + ".jpg";
+            String fileName = variant.fileName(fileId);
             
             BlobContainerClient containerClient = getContainerClient();
             BlobClient blobClient = containerClient.getBlobClient(fileName);
             
             // 이미지 데이터 업로드
-            blobClient.upload(new ByteArrayInputStream(imageData), imageData.length, true);
+            remoteCallRecorder.record(RemoteCallRecorder.AZURE, "upload");
+            blobClient.uploadWithResponse(new BlobParallelUploadOptions(BinaryData.fromBytes(imageData))
+                    .setHeaders(new BlobHttpHeaders().setContentType(JpegEncoder.CONTENT_TYPE)), null, null);
+            missingBlobs.invalidate(fileName);
             
-            log.info("Azure Storage에 포토카드 이미지 저장 완료 - fileId: {}, size: {} bytes", fileId, imageData.length);
-            return fileId;
+            log.info("Azure Storage에 포토카드 이미지 저장 완료 - fileId: {}, variant: {}, size: {} bytes",
+                    fileId, variant, imageData.length);
+            return new StoredPhotocard(fileId, blobClient.getBlobUrl());
             
         } catch (Exception e) {
             log.error("Azure Storage 이미지 저장 실패", e);
@@ -80,20 +149,128 @@ public class AzureStorageService {
     }
     
     /**
-     * Azure Storage에서 포토카드 이미지 로드
+     * 이미지 스트림을 Azure Storage에 바로 업로드 (단일 PUT, 본문을 메모리에 모으지 않음)
      */
-    public Resource loadPhotocardImage(String fileId) {
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, InputStream imageData, long length) {
         try {
-            String fileName = "photocard_" + fileId + ".jpg";
-            BlobContainerClient containerClient = getContainerClient();
-            BlobClient blobClient = containerClient.getBlobClient(fileName);
+            BlobClient blobClient = getContainerClient().getBlobClient(variant.fileName(fileId));
+            
+            remoteCallRecorder.record(RemoteCallRecorder.AZURE, "upload");
+            blobClient.getBlockBlobClient().uploadWithResponse(new BlockBlobSimpleUploadOptions(imageData, length)
+                    .setHeaders(new BlobHttpHeaders().setContentType(JpegEncoder.CONTENT_TYPE)), null, Context.NONE);
+            missingBlobs.invalidate(variant.fileName(fileId));
+            
+            log.info("Azure Storage에 포토카드 이미지 저장 완료 - fileId: {}, variant: {}, size: {} bytes",
+                    fileId, variant, length);
+            return new StoredPhotocard(fileId, blobClient.getBlobUrl());
+            
+        } catch (Exception e) {
+            log.error("Azure Storage 이미지 저장 실패", e);
+            throw new RuntimeException("파일 저장에 실패했습니다: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 포토카드 이미지 변형(썸네일/미리보기/원본)을 같은 fileId 로 Azure Storage에 저장 시작
+     * 변형마다 블록 blob 업로드 스트림을 열고 풀의 ImageWriter 가 그 스트림에 바로 인코딩 (byte[] 복사 없음)
+     */
+    @Override
+    public PhotocardUpload beginPhotocardImages(String fileId) {
+        return new AzurePhotocardUpload(fileId);
+    }
+    
+    /**
+     * Azure 업로드 스트림에 변형을 기록하는 업로드
+     * write 는 렌더링 스레드에서 인코딩 (스트림에 쌓인 블록은 SDK 가 전송), commit 은 스트림을 닫아 업로드 완료를 기다림
+     * 업로드 스트림은 커밋 없이 버릴 수 없으므로 abort 는 스트림을 닫은 뒤 blob 을 삭제
+     */
+    private class AzurePhotocardUpload implements PhotocardUpload {
+        
+        private final String fileId;
+        private final Map<PhotocardVariant, BlobOutputStream> streams = new EnumMap<>(PhotocardVariant.class);
+        private final Map<PhotocardVariant, Long> sizes = new EnumMap<>(PhotocardVariant.class);
+        private boolean done;
+        
+        private AzurePhotocardUpload(String fileId) {
+            this.fileId = fileId;
+        }
+        
+        @Override
+        public void write(PhotocardVariant variant, BufferedImage image) throws IOException {
+            BlockBlobClient blobClient = getContainerClient().getBlobClient(variant.fileName(fileId)).getBlockBlobClient();
+            
+            remoteCallRecorder.record(RemoteCallRecorder.AZURE, "upload");
+            BlobOutputStream out = blobClient.getBlobOutputStream(null,
+                    new BlobHttpHeaders().setContentType(JpegEncoder.CONTENT_TYPE), null, null, null);
+            streams.put(variant, out);
+            sizes.put(variant, jpegEncoder.encode(image, out));
+        }
+        
+        @Override
+        public StoredPhotocard commit() {
+            try {
+                for (Map.Entry<PhotocardVariant, BlobOutputStream> entry : streams.entrySet()) {
+                    entry.getValue().close();
+                    missingBlobs.invalidate(entry.getKey().fileName(fileId));
+                    
+                    log.info("Azure Storage에 포토카드 이미지 저장 완료 - fileId: {}, variant: {}, size: {} bytes",
+                            fileId, entry.getKey(), sizes.get(entry.getKey()));
+                }
+                done = true;
+                return new StoredPhotocard(fileId, getContainerClient()
+                        .getBlobClient(PhotocardVariant.FULL.fileName(fileId)).getBlobUrl());
+                
+            } catch (Exception e) {
+                log.error("Azure Storage 이미지 저장 실패", e);
+                abort();
+                throw new RuntimeException("파일 저장에 실패했습니다: " + e.getMessage());
+            }
+        }
+        
+        @Override
+        public void abort() {
+            if (done) {
+                return;
+            }
+            done = true;
+            
+            for (Map.Entry<PhotocardVariant, BlobOutputStream> entry : streams.entrySet()) {
+                String fileName = entry.getKey().fileName(fileId);
+                try {
+                    entry.getValue().close();
+                } catch (Exception e) {
+                    log.debug("Azure 업로드 스트림 닫기 실패 - {}: {}", fileName, e.getMessage());
+                }
+                try {
+                    remoteCallRecorder.record(RemoteCallRecorder.AZURE, "delete");
+                    getContainerClient().getBlobClient(fileName).deleteIfExists();
+                } catch (Exception e) {
+                    log.warn("중단한 업로드의 blob 삭제 실패 - {}: {}", fileName, e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Azure Storage에서 포토카드 이미지 변형 로드
+     * blob 속성 조회 1회로 존재 확인과 크기/ETag 를 함께 얻고, 본문은 응답 시점에 스트리밍
+     */
+    @Override
+    public Resource loadPhotocardImage(String fileId, PhotocardVariant variant) {
+        String fileName = variant.fileName(fileId);
+        try {
+            BlobClient blobClient = getContainerClient().getBlobClient(fileName);
             
-            if (blobClient.exists()) {
-                URL blobUrl = new URL(blobClient.getBlobUrl());
-                return new UrlResource(blobUrl);
-            } else {
-                throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
+            remoteCallRecorder.record(RemoteCallRecorder.AZURE, "get-properties");
+            BlobProperties properties = blobClient.getProperties();
+            return new BlobPhotocardResource(blobClient, properties, remoteCallRecorder);
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == 404) {
+                throw new PhotocardImageNotFoundException(fileName);
             }
+            log.error("Azure Storage 이미지 로드 실패 - fileId: {}", fileId, e);
+            throw new RuntimeException("파일 로드에 실패했습니다: " + e.getMessage());
         } catch (Exception e) {
             log.error("Azure Storage 이미지 로드 실패 - fileId: {}", fileId, e);
             throw new RuntimeException("파일 로드에 실패했습니다: " + e.getMessage());
@@ -103,59 +280,144 @@ public class AzureStorageService {
     /**
      * Azure Storage에서 포토카드 이미지 삭제
      */
+    @Override
     public void deletePhotocardImage(String fileId) {
         try {
-            String fileName = "photocard_" + fileId + ".jpg";
             BlobContainerClient containerClient = getContainerClient();
-            BlobClient blobClient = containerClient.getBlobClient(fileName);
-            
-            if (blobClient.exists()) {
-                blobClient.delete();
-                log.info("Azure Storage 이미지 삭제 완료 - fileId: {}", fileId);
+            for (PhotocardVariant variant : PhotocardVariant.values()) {
+                BlobClient blobClient = containerClient.getBlobClient(variant.fileName(fileId));
+                // 변형이 없는 이전 카드도 있으므로 존재 확인 없이 삭제 (없으면 무시)
+                remoteCallRecorder.record(RemoteCallRecorder.AZURE, "delete");
+                blobClient.deleteIfExists();
+                existingBlobs.invalidate(variant.fileName(fileId));
             }
+            log.info("Azure Storage 이미지 삭제 완료 - fileId: {}", fileId);
         } catch (Exception e) {
             log.error("Azure Storage 이미지 삭제 실패 - fileId: {}", fileId, e);
         }
     }
     
     /**
-     * 다운로드 URL 생성
+     * 읽기 전용 SAS URL 생성 (계정 키로 로컬에서 서명)
+     * - 만료 시각을 ttl/2 단위로 맞춰 같은 구간의 요청은 같은 URL 을 받도록 함 (브라우저/CDN 캐시 재사용)
+     * - blob 존재 여부는 처음 한 번만 확인하고 기억, 없는 경우는 짧게만 기억 (없으면 empty → 호출자가 대체 변형 또는 이전 계층에서 응답)
+     * - 연결 문자열에 계정 키가 없으면(SAS 토큰 연결 등) 서명할 수 없으므로 empty
      */
-    public String generateDownloadUrl(String fileId) {
+    @Override
+    public Optional<String> generateSignedUrl(String fileId, PhotocardVariant variant, Duration ttl, String fileName) {
+        if (!canSign()) {
+            return Optional.empty();
+        }
+        String blobName = variant.fileName(fileId);
         try {
-            String fileName = "photocard_" + fileId + ".jpg";
-            BlobContainerClient containerClient = getContainerClient();
-            BlobClient blobClient = containerClient.getBlobClient(fileName);
+            BlobClient blobClient = getContainerClient().getBlobClient(blobName);
+            if (!blobExists(blobClient, blobName)) {
+                return Optional.empty();
+            }
             
-            if (blobClient.exists()) {
-                // SAS URL 생성 (24시간 유효)
-                return blobClient.getBlobUrl();
-            } else {
-                throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
+            long window = Math.max(1, ttl.toSeconds() / 2);
+            long now = Instant.now().getEpochSecond();
+            OffsetDateTime expiresAt = Instant.ofEpochSecond((now / window + 1) * window)
+                    .plus(ttl)
+                    .atOffset(ZoneOffset.UTC);
+            BlobServiceSasSignatureValues values = new BlobServiceSasSignatureValues(
+                    expiresAt, new BlobSasPermission().setReadPermission(true))
+                    .setContentType(JpegEncoder.CONTENT_TYPE)
+                    .setCacheControl("private, max-age=" + ttl.toSeconds());
+            if (fileName != null) {
+                values.setContentDisposition("inline; filename=\"" + fileName + "\"");
             }
-        } catch (Exception e) {
-            log.error("다운로드 URL 생성 실패 - fileId: {}", fileId, e);
-            throw new RuntimeException("다운로드 URL 생성에 실패했습니다: " + e.getMessage());
+            return Optional.of(blobClient.getBlobUrl() + "?" + blobClient.generateSas(values));
+        } catch (RuntimeException e) {
+            // 서명 URL 을 만들 수 없으면 호출자가 이 노드에서 직접 응답
+            log.warn("Azure Storage 서명 URL 생성 실패 - blobName: {}, 오류: {}", blobName, e.getMessage());
+            return Optional.empty();
         }
     }
     
+    private boolean canSign() {
+        return connectionString != null && connectionString.contains("AccountKey=");
+    }
+    
+    private boolean blobExists(BlobClient blobClient, String blobName) {
+        if (existingBlobs.getIfPresent(blobName) != null) {
+            return true;
+        }
+        if (missingBlobs.getIfPresent(blobName) != null) {
+            return false;
+        }
+        remoteCallRecorder.record(RemoteCallRecorder.AZURE, "exists");
+        boolean exists = blobClient.exists();
+        // 카드 이미지는 바뀌지 않으므로 있는 경우는 계속 기억, 없는 경우는 MISSING_BLOB_TTL 동안만 기억
+        if (exists) {
+            existingBlobs.put(blobName, Boolean.TRUE);
+        } else {
+            missingBlobs.put(blobName, Boolean.TRUE);
+        }
+        return exists;
+    }
+    
     /**
-     * 미리보기 URL 생성
+     * 컨테이너의 포토카드 blob 목록을 페이지 단위로 조회
+     * 페이지를 순회할 때마다 목록 요청 1회, 한 번에 한 페이지만 메모리에 올림
      */
-    public String generatePreviewUrl(String fileId) {
-        try {
-            String fileName = "photocard_" + fileId + ".jpg";
-            BlobContainerClient containerClient = getContainerClient();
-            BlobClient blobClient = containerClient.getBlobClient(fileName);
-            
-            if (blobClient.exists()) {
-                return blobClient.getBlobUrl();
-            } else {
-                throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
+    public Iterable<PagedResponse<BlobItem>> listPhotocardBlobs(int pageSize) {
+        ListBlobsOptions options = new ListBlobsOptions()
+                .setPrefix(PhotocardVariant.FILE_PREFIX)
+                .setMaxResultsPerPage(pageSize);
+        return getContainerClient().listBlobs(options, null).iterableByPage();
+    }
+    
+    /**
+     * blob 일괄 삭제 (Blob Batch API, 요청 1회에 최대 256개)
+     * 이미 없는 blob 은 무시하고, 실제로 삭제한 개수 반환
+     */
+    public int deleteBlobs(List<String> blobNames) {
+        if (blobNames.isEmpty()) {
+            return 0;
+        }
+        BlobContainerClient containerClient = getContainerClient();
+        BlobBatchClient batchClient = new BlobBatchClientBuilder(containerClient).buildClient();
+        
+        BlobBatch batch = batchClient.getBlobBatch();
+        Map<String, Response<Void>> responses = new LinkedHashMap<>();
+        for (String blobName : blobNames) {
+            responses.put(blobName, batch.deleteBlob(containerClient.getBlobClient(blobName).getBlobUrl(),
+                    DeleteSnapshotsOptionType.INCLUDE, null));
+        }
+        
+        existingBlobs.invalidateAll(blobNames);
+        remoteCallRecorder.record(RemoteCallRecorder.AZURE, "delete-batch");
+        batchClient.submitBatchWithResponse(batch, false, null, Context.NONE);
+        
+        int deleted = 0;
+        for (Map.Entry<String, Response<Void>> entry : responses.entrySet()) {
+            try {
+                entry.getValue().getStatusCode();
+                deleted++;
+            } catch (BlobStorageException e) {
+                if (e.getStatusCode() != 404) {
+                    log.warn("Azure Storage blob 삭제 실패 - blobName: {}, status: {}", entry.getKey(), e.getStatusCode());
+                }
             }
-        } catch (Exception e) {
-            log.error("미리보기 URL 생성 실패 - fileId: {}", fileId, e);
-            throw new RuntimeException("미리보기 URL 생성에 실패했습니다: " + e.getMessage());
         }
+        return deleted;
+    }
+    
+    /**
+     * 다운로드 URL 생성
+     * blob URL 은 계정/컨테이너/파일명으로 정해지므로 존재 확인 없이 계산
+     */
+    @Override
+    public String generateDownloadUrl(String fileId) {
+        return getContainerClient().getBlobClient(PhotocardVariant.FULL.fileName(fileId)).getBlobUrl();
+    }
+    
+    /**
+     * 미리보기 URL 생성
+     */
+    @Override
+    public String generatePreviewUrl(String fileId) {
+        return getContainerClient().getBlobClient(PhotocardVariant.FULL.fileName(fileId)).getBlobUrl();
     }
 }
@@ -0,0 +1,58 @@
+package com.photocard.service;
+
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.models.BlobProperties;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+
+/**
+ * Azure blob 을 직접 읽는 Resource
+ * - 조회 시 받은 blob 속성(크기, 수정 시각)을 그대로 사용해 추가 호출 없이 헤더 구성
+ *   응답 ETag 는 blob ETag 가 아니라 컨트롤러(etagOf)가 수정 시각 + 크기로 계산
+ * - 본문은 blob 다운로드 스트림에서 응답으로 바로 복사 (공개 URL 재다운로드 없음)
+ * - Range 요청은 스트림 skip 으로 필요한 위치부터 다운로드
+ */
+public class BlobPhotocardResource extends AbstractResource {
+    
+    private final BlobClient blobClient;
+    private final BlobProperties properties;
+    private final RemoteCallRecorder remoteCallRecorder;
+    
+    public BlobPhotocardResource(BlobClient blobClient, BlobProperties properties, RemoteCallRecorder remoteCallRecorder) {
+        this.blobClient = blobClient;
+        this.properties = properties;
+        this.remoteCallRecorder = remoteCallRecorder;
+    }
+    
+    @Override
+    public boolean exists() {
+        return true;
+    }
+    
+    @Override
+    public long contentLength() {
+        return properties.getBlobSize();
+    }
+    
+    @Override
+    public long lastModified() {
+        return properties.getLastModified().toInstant().toEpochMilli();
+    }
+    
+    @Override
+    public String getFilename() {
+        return blobClient.getBlobName();
+    }
+    
+    @Override
+    public String getDescription() {
+        return "Azure blob [" + blobClient.getBlobUrl() + "]";
+    }
+    
+    @Override
+    public InputStream getInputStream() {
+        remoteCallRecorder.record(RemoteCallRecorder.AZURE, "download");
+        return blobClient.openInputStream();
+    }
+}
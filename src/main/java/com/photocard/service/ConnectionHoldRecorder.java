@@ -0,0 +1,81 @@
+package com.photocard.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * DB 커넥션 점유 시간(풀에서 빌린 시점 ~ 반환 시점) 기록
+ * photocard.db.connection.hold{operation}
+ * - operation: within 으로 지정한 작업 이름, 없으면 현재 트랜잭션 이름(클래스.메서드), 둘 다 없으면 none
+ * - 커넥션 반환은 DataSourceConfig 에서 감싼 DataSource 가 알림
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionHoldRecorder {
+    
+    private static final String NONE = "none";
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    private final MeterRegistry meterRegistry;
+    
+    // 커넥션 반환마다 Timer 를 다시 만들지 않도록 operation 별로 재사용
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    
+    /**
+     * operation 이름을 현재 스레드에 연결한 채로 작업 실행
+     * (트랜잭션 없이 여러 저장소 호출을 묶는 서비스 메서드용)
+     */
+    public <T> T within(String operation, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(operation);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * 커넥션 반환 시 점유 시간 기록 (operation 이 null 이면 none)
+     */
+    public void record(String operation, long heldNanos) {
+        timers.computeIfAbsent(operation != null ? operation : NONE, tag -> Timer.builder("photocard.db.connection.hold")
+                        .description("DB 커넥션을 풀에서 빌린 뒤 반환할 때까지의 시간")
+                        .tag("operation", tag)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(heldNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * 현재 스레드의 작업 이름 (없으면 null)
+     * 트랜잭션 이름은 커넥션을 빌린 뒤에 정해지므로 커넥션 사용 중에 다시 확인해야 함
+     */
+    public String currentOperation() {
+        String operation = CURRENT.get();
+        if (operation != null) {
+            return operation;
+        }
+        
+        // 트랜잭션 이름은 com.photocard.service.PhotocardService.getPhotocardPage 형식 → 클래스.메서드
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName == null) {
+            return null;
+        }
+        int method = transactionName.lastIndexOf('.');
+        int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+        return transactionName.substring(type + 1);
+    }
+}
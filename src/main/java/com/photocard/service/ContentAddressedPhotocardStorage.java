@@ -0,0 +1,260 @@
+package com.photocard.service;
+
+import com.photocard.entity.PhotocardBlob;
+import com.photocard.repository.PhotocardBlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 내용 주소 저장소 (photocard.storage.content-addressed)
+ * - fileId 를 UUID 대신 원본 이미지 바이트의 SHA-256 으로 정함
+ * - 같은 내용이 이미 저장되어 있으면(photocard_blobs) 업로드 없이 기존 fileId 와 URL 반환
+ * - 같은 작품의 재생성, 같은 파일의 중복 업로드가 blob 하나를 공유
+ * 공유되는 blob 이므로 deletePhotocardImage 는 blob 을 지우지 않음
+ * 어떤 카드도 참조하지 않게 된 blob 과 photocard_blobs 행은 고아 blob 정리(OrphanBlobReconciler)가 삭제
+ */
+@Slf4j
+public class ContentAddressedPhotocardStorage implements PhotocardStorage {
+    
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String TEMP_PREFIX = "photocard-upload-";
+    private static final String TEMP_SUFFIX = ".tmp";
+    
+    private final PhotocardStorage delegate;
+    private final PhotocardBlobRepository photocardBlobRepository;
+    private final JpegEncoder jpegEncoder;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+    
+    public ContentAddressedPhotocardStorage(PhotocardStorage delegate,
+                                            PhotocardBlobRepository photocardBlobRepository,
+                                            JpegEncoder jpegEncoder,
+                                            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.photocardBlobRepository = photocardBlobRepository;
+        this.jpegEncoder = jpegEncoder;
+        this.hits = Counter.builder("photocard.storage.dedup")
+                .description("내용 주소 저장 시 기존 blob 재사용 여부")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("photocard.storage.dedup")
+                .description("내용 주소 저장 시 기존 blob 재사용 여부")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("photocard.storage.dedup.bytes.saved")
+                .description("기존 blob 재사용으로 생략한 원본 이미지 업로드 바이트 수")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+    
+    /**
+     * 인코딩된 이미지를 SHA-256 fileId 로 저장 (업로드된 파일 그대로의 중복 제거)
+     */
+    @Override
+    public StoredPhotocard savePhotocardImage(byte[] imageData) {
+        MessageDigest digest = newDigest();
+        digest.update(imageData);
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        return store(contentHash, imageData.length,
+                () -> delegate.savePhotocardImage(contentHash, imageData));
+    }
+    
+    /**
+     * 업로드 스트림을 임시 파일에 복사하면서 SHA-256 계산
+     * fileId 는 내용을 끝까지 읽어야 정해지므로 임시 파일을 거치고, 새 내용일 때만 임시 파일에서 업로드
+     */
+    @Override
+    public StoredPhotocard savePhotocardImage(InputStream imageData, long length) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(TEMP_PREFIX, TEMP_SUFFIX);
+            MessageDigest digest = newDigest();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(imageData, digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            Path file = temp;
+            return store(contentHash, size, () -> {
+                try (InputStream in = Files.newInputStream(file)) {
+                    return delegate.savePhotocardImage(contentHash, PhotocardVariant.FULL, in, size);
+                } catch (IOException e) {
+                    throw new RuntimeException("파일 저장에 실패했습니다: " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("파일 저장에 실패했습니다: " + e.getMessage());
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+    
+    /**
+     * 원본(FULL) 을 인코딩하면서 SHA-256 을 함께 계산 (인코딩 결과를 다시 읽지 않음)
+     * fileId 는 원본 인코딩이 끝나야 정해지고 같은 내용이면 업로드하지 않으므로, 변형은 인코딩 결과를 메모리에 두었다가
+     * commit 에서 새 내용일 때만 같은 fileId 로 업로드 (원본이 없으면 UUID 로 저장)
+     */
+    @Override
+    public PhotocardUpload beginPhotocardImages() {
+        Map<PhotocardVariant, byte[]> encoded = new EnumMap<>(PhotocardVariant.class);
+        MessageDigest digest = newDigest();
+        return new PhotocardUpload() {
+            @Override
+            public void write(PhotocardVariant variant, BufferedImage image) throws IOException {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+                if (variant == PhotocardVariant.FULL) {
+                    try (DigestOutputStream out = new DigestOutputStream(buffer, digest)) {
+                        jpegEncoder.encode(image, out);
+                    }
+                } else {
+                    jpegEncoder.encode(image, buffer);
+                }
+                encoded.put(variant, buffer.toByteArray());
+            }
+            
+            @Override
+            public StoredPhotocard commit() {
+                byte[] fullImage = encoded.get(PhotocardVariant.FULL);
+                if (fullImage == null) {
+                    return upload(UUID.randomUUID().toString());
+                }
+                String contentHash = HexFormat.of().formatHex(digest.digest());
+                return store(contentHash, fullImage.length, () -> upload(contentHash));
+            }
+            
+            private StoredPhotocard upload(String fileId) {
+                StoredPhotocard stored = null;
+                for (Map.Entry<PhotocardVariant, byte[]> entry : encoded.entrySet()) {
+                    StoredPhotocard saved = delegate.savePhotocardImage(fileId, entry.getKey(), entry.getValue());
+                    if (stored == null || entry.getKey() == PhotocardVariant.FULL) {
+                        stored = saved;
+                    }
+                }
+                return stored;
+            }
+            
+            @Override
+            public void abort() {
+                encoded.clear();
+            }
+        };
+    }
+    
+    /**
+     * 같은 내용이 이미 저장되어 있으면 마지막 참조 시각을 갱신하고 기존 URL 반환, 없으면 upload 실행 후 기록
+     * 갱신에 실패하면(고아 blob 정리가 방금 행을 지움) 삭제될 blob 이므로 새로 업로드
+     */
+    private StoredPhotocard store(String contentHash, long sizeBytes, Supplier<StoredPhotocard> upload) {
+        Optional<PhotocardBlob> existing = photocardBlobRepository.findById(contentHash);
+        if (existing.isPresent() && photocardBlobRepository.touch(contentHash, LocalDateTime.now()) > 0) {
+            hits.increment();
+            bytesSaved.increment(sizeBytes);
+            log.info("동일한 포토카드 이미지가 이미 저장되어 업로드 생략 - fileId: {}", contentHash);
+            return new StoredPhotocard(contentHash, existing.get().getDownloadUrl());
+        }
+        
+        misses.increment();
+        StoredPhotocard stored = upload.get();
+        
+        try {
+            photocardBlobRepository.saveAndFlush(PhotocardBlob.builder()
+                    .contentHash(contentHash)
+                    .sizeBytes(sizeBytes)
+                    .downloadUrl(stored.downloadUrl())
+                    .lastReferencedAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 내용을 동시에 저장한 경우: 업로드 결과가 같으므로 먼저 기록된 행을 그대로 사용 (참조 시각만 갱신)
+            log.debug("포토카드 blob 기록이 이미 존재 - fileId: {}", contentHash);
+            photocardBlobRepository.touch(contentHash, LocalDateTime.now());
+        }
+        return stored;
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData) {
+        return delegate.savePhotocardImage(fileId, variant, imageData);
+    }
+    
+    @Override
+    public PhotocardUpload beginPhotocardImages(String fileId) {
+        return delegate.beginPhotocardImages(fileId);
+    }
+    
+    @Override
+    public Resource loadPhotocardImage(String fileId, PhotocardVariant variant) {
+        return delegate.loadPhotocardImage(fileId, variant);
+    }
+    
+    /**
+     * 같은 내용을 참조하는 다른 카드가 있을 수 있으므로 삭제하지 않음 (고아 blob 정리에 맡김)
+     */
+    @Override
+    public void deletePhotocardImage(String fileId) {
+        log.debug("내용 주소 blob 은 공유되므로 삭제 생략 - fileId: {}", fileId);
+    }
+    
+    @Override
+    public String generateDownloadUrl(String fileId) {
+        return delegate.generateDownloadUrl(fileId);
+    }
+    
+    @Override
+    public String generatePreviewUrl(String fileId) {
+        return delegate.generatePreviewUrl(fileId);
+    }
+    
+    @Override
+    public Optional<String> generateSignedUrl(String fileId, PhotocardVariant variant, Duration ttl, String fileName) {
+        return delegate.generateSignedUrl(fileId, variant, ttl, fileName);
+    }
+    
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("업로드 임시 파일 삭제 실패 - path: {}", path);
+        }
+    }
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " 를 사용할 수 없습니다", e);
+        }
+    }
+}
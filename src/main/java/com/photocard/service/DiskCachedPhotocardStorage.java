@@ -0,0 +1,238 @@
+package com.photocard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 원격 저장소 앞단의 로컬 디스크 read-through 캐시
+ * - 조회 시 캐시 파일이 있으면 원격 호출 없이 FileSystemResource 반환 (컨트롤러에서 sendfile 로 전송)
+ * - 없으면 원격에서 받아 임시 파일에 기록 후 원자적으로 이동해 캐시
+ * - 파일 크기 합계 기준 상한, 초과 시 W-TinyLFU 정책으로 캐시에서 제거
+ * - 제거된 파일은 retain-after-evict 뒤에 삭제: sendfile 은 응답을 반환한 뒤 컨테이너가 경로로 파일을 열기 때문에
+ *   바로 지우면 전송 중이거나 전송 직전인 응답이 끊김
+ * - 카드 이미지는 생성 후 바뀌지 않으므로 무효화는 삭제 시에만 수행
+ */
+@Slf4j
+public class DiskCachedPhotocardStorage implements PhotocardStorage {
+    
+    private static final String CACHE_NAME = "photocardDiskCache";
+    private static final String TEMP_SUFFIX = ".tmp";
+    
+    private final PhotocardStorage delegate;
+    private final Path cacheDir;
+    private final Cache<String, Long> files;
+    private final Duration retainAfterEvict;
+    private final ScheduledExecutorService deleter;
+    private final Counter bytesServed;
+    private final Counter fills;
+    
+    public DiskCachedPhotocardStorage(PhotocardStorage delegate, Path cacheDir, long maxBytes, Duration retainAfterEvict,
+                                      MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cacheDir = cacheDir;
+        this.retainAfterEvict = retainAfterEvict;
+        
+        // 종료 시 남은 삭제 예약은 버려도 됨: 파일이 남으면 재시작 때 캐시 파일로 다시 등록 (데몬 스레드)
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("photocard-disk-cache-");
+        threads.setDaemon(true);
+        this.deleter = Executors.newSingleThreadScheduledExecutor(threads);
+        this.files = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String fileName, Long size) -> (int) Math.min(size, Integer.MAX_VALUE))
+                .removalListener((String fileName, Long size, RemovalCause cause) -> {
+                    // 같은 이름으로 다시 기록된 경우(REPLACED)는 파일이 새 내용이므로 유지
+                    if (fileName != null && cause != RemovalCause.REPLACED) {
+                        scheduleDelete(fileName);
+                    }
+                })
+                .recordStats()
+                .build();
+        
+        // hit/miss 는 cache.gets{cache=photocardDiskCache}, 절약한 원격 전송량은 bytes.served
+        CaffeineCacheMetrics.monitor(meterRegistry, files, CACHE_NAME);
+        this.bytesServed = Counter.builder("photocard.disk.cache.bytes.served")
+                .description("디스크 캐시에서 응답해 원격 저장소 전송을 절약한 바이트 수")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("photocard.disk.cache.bytes", files,
+                        c -> c.policy().eviction()
+                                .map(eviction -> eviction.weightedSize().orElse(0L))
+                                .orElse(0L))
+                .description("디스크 캐시 파일 크기 합계")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("photocard.disk.cache.hit.ratio", files, c -> c.stats().hitRate())
+                .description("디스크 캐시 적중률")
+                .register(meterRegistry);
+        this.fills = Counter.builder("photocard.disk.cache.fills")
+                .description("원격 저장소에서 받아 캐시에 기록한 횟수")
+                .register(meterRegistry);
+        
+        restore();
+        log.info("포토카드 디스크 캐시 초기화 - dir: {}, maxBytes: {}, retainAfterEvict: {}, 기존 파일: {}",
+                cacheDir, maxBytes, retainAfterEvict, files.estimatedSize());
+    }
+    
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData) {
+        return delegate.savePhotocardImage(fileId, variant, imageData);
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, InputStream imageData, long length) {
+        return delegate.savePhotocardImage(fileId, variant, imageData, length);
+    }
+    
+    @Override
+    public PhotocardUpload beginPhotocardImages(String fileId) {
+        return delegate.beginPhotocardImages(fileId);
+    }
+    
+    @Override
+    public Resource loadPhotocardImage(String fileId, PhotocardVariant variant) {
+        String fileName = variant.fileName(fileId);
+        Path cached = cacheDir.resolve(fileName);
+        
+        // 캐시 적중: 파일이 실제로 남아 있을 때만 사용
+        Long size = files.getIfPresent(fileName);
+        if (size != null && Files.isRegularFile(cached)) {
+            bytesServed.increment(size);
+            return new FileSystemResource(cached);
+        }
+        
+        // 캐시 미스: 원격 다운로드는 캐시 내부 락 밖에서 수행
+        Resource remote = delegate.loadPhotocardImage(fileId, variant);
+        try {
+            files.put(fileName, fill(remote, cached));
+            fills.increment();
+            // 상한보다 큰 파일은 기록 직후 제거될 수 있으므로 파일이 남아 있을 때만 캐시 파일로 응답
+            return Files.isRegularFile(cached) ? new FileSystemResource(cached) : remote;
+        } catch (IOException e) {
+            // 디스크 기록 실패 시 캐시 없이 원격에서 바로 응답
+            log.warn("디스크 캐시 기록 실패, 원격 저장소에서 응답 - fileName: {}, 오류: {}", fileName, e.getMessage());
+            return remote;
+        }
+    }
+    
+    /**
+     * 원격 이미지를 캐시 파일로 기록 후 크기 반환
+     * 동시에 기록하는 요청이 있어도 각자 임시 파일에 쓰고 원자적으로 이동하므로 일부만 쓰인 파일을 읽지 않음
+     */
+    private long fill(Resource remote, Path cached) throws IOException {
+        Path temp = null;
+        try {
+            Files.createDirectories(cacheDir);
+            temp = Files.createTempFile(cacheDir, cached.getFileName().toString(), TEMP_SUFFIX);
+            try (InputStream in = remote.getInputStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // 원격 수정 시각을 유지해 노드가 달라도 같은 ETag(수정 시각 + 크기)가 나오도록 함
+            Files.setLastModifiedTime(temp, FileTime.fromMillis(remote.lastModified()));
+            Files.move(temp, cached, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return Files.size(cached);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+    
+    @Override
+    public void deletePhotocardImage(String fileId) {
+        delegate.deletePhotocardImage(fileId);
+        for (PhotocardVariant variant : PhotocardVariant.values()) {
+            files.invalidate(variant.fileName(fileId));
+        }
+    }
+    
+    @Override
+    public String generateDownloadUrl(String fileId) {
+        return delegate.generateDownloadUrl(fileId);
+    }
+    
+    @Override
+    public String generatePreviewUrl(String fileId) {
+        return delegate.generatePreviewUrl(fileId);
+    }
+    
+    @Override
+    public Optional<String> generateSignedUrl(String fileId, PhotocardVariant variant, Duration ttl, String fileName) {
+        return delegate.generateSignedUrl(fileId, variant, ttl, fileName);
+    }
+    
+    /**
+     * 캐시에서 제거된 파일을 retain-after-evict 뒤에 삭제
+     * 그 사이 같은 이름으로 다시 캐시되었으면 새 파일이므로 지우지 않음
+     */
+    private void scheduleDelete(String fileName) {
+        Runnable delete = () -> {
+            if (files.getIfPresent(fileName) == null) {
+                deleteQuietly(cacheDir.resolve(fileName));
+            }
+        };
+        try {
+            deleter.schedule(delete, retainAfterEvict.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            delete.run();
+        }
+    }
+    
+    /**
+     * 재시작 시 기존 캐시 파일을 다시 등록 (남은 임시 파일은 삭제)
+     */
+    private void restore() {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDir)) {
+            for (Path entry : entries) {
+                String fileName = entry.getFileName().toString();
+                if (fileName.endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(entry);
+                } else if (Files.isRegularFile(entry)) {
+                    files.put(fileName, Files.size(entry));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("디스크 캐시 복원 실패 - dir: {}, 오류: {}", cacheDir, e.getMessage());
+        }
+    }
+    
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("디스크 캐시 파일 삭제 실패 - path: {}", path);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.photocard.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * fileId 집합용 Bloom filter (고아 blob 정리에서 참조 중인 fileId 판별)
+ * 거짓 양성(참조 중이라고 잘못 판단)만 있으므로 참조 중인 blob 을 지우는 일은 없음
+ * 원소 1천만 개, 거짓 양성률 0.1% 기준 약 18MB
+ */
+final class FileIdBloomFilter {
+    
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    
+    FileIdBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.bits = new long[words];
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+    }
+    
+    void put(String fileId) {
+        long h1 = hash(fileId);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+    
+    boolean mightContain(String fileId) {
+        long h1 = hash(fileId);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+    
+    /**
+     * 64비트 FNV-1a 후 비트 섞기
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+    
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -2,15 +2,16 @@ package com.photocard.service;
 
 import com.photocard.dto.ExternalArtworkResponse;
 import com.photocard.dto.EndingCreditResponse;
+import com.photocard.exception.RenderQueueFullException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
+import java.awt.font.FontRenderContext;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.net.URL;
 
 @Service
@@ -18,6 +19,18 @@ import java.net.URL;
 @Slf4j
 public class ImageProcessingService {
     
+    // 포토카드 안의 작품 이미지 영역 (디코딩 목표 크기)
+    private static final int ARTWORK_WIDTH = 600;
+    private static final int ARTWORK_HEIGHT = 300;
+    
+    private final ArtworkImageCache artworkImageCache;
+    private final ArtworkImageDecoder artworkImageDecoder;
+    private final PhotocardTemplateLayers templateLayers;
+    private final ImageResizer imageResizer;
+    private final RenderExecutor renderExecutor;
+    private final TextLayoutCache textLayoutCache;
+    private final JpegEncoder jpegEncoder;
+    
     /**
      * 간단한 포토카드 이미지 생성 (메타데이터 없이)
      */
@@ -25,52 +38,95 @@ public class ImageProcessingService {
         log.info("간단한 포토카드 이미지 생성 시작 - artworkId: {}", artwork.getId());
         
         try {
-            // 1. 작품 이미지 로드
+            // 1. 작품 이미지 로드 (I/O, 요청 스레드에서 수행)
             BufferedImage artworkImage = loadArtworkImage(artwork);
             
-            // 2. 포토카드 크기 설정 (600x400)
-            int cardWidth = 600;
-            int cardHeight = 400;
-            BufferedImage photocard = new BufferedImage(cardWidth, cardHeight, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2d = photocard.createGraphics();
-            
-            // 3. 배경색 설정 (흰색)
-            g2d.setColor(Color.WHITE);
-            g2d.fillRect(0, 0, cardWidth, cardHeight);
-            
-            // 4. 작품 이미지 그리기 (중앙에 배치)
-            int imageWidth = 400;
-            int imageHeight = 300;
-            int x = (cardWidth - imageWidth) / 2;
-            int y = (cardHeight - imageHeight) / 2;
-            g2d.drawImage(artworkImage, x, y, imageWidth, imageHeight, null);
+            // 2~7. 렌더링 + 인코딩은 렌더링 전용 워커 풀에서 수행
+            byte[] imageBytes = renderExecutor.execute(() -> {
+                BufferedImage photocard = createSimplePhotocardImage(artworkImage, artwork);
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                ImageIO.write(photocard, "PNG", baos);
+                return baos.toByteArray();
+            });
             
-            // 5. 작품 제목 추가
-            g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Arial", Font.BOLD, 16));
-            String title = artwork.getTitle() != null ? artwork.getTitle() : "작품 제목";
-            FontMetrics fm = g2d.getFontMetrics();
-            int titleX = (cardWidth - fm.stringWidth(title)) / 2;
-            g2d.drawString(title, titleX, 30);
-            
-            // 6. 작가명 추가
-            g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-            String artist = artwork.getArtist() != null ? artwork.getArtist() : "작가명";
-            fm = g2d.getFontMetrics();
-            int artistX = (cardWidth - fm.stringWidth(artist)) / 2;
-            g2d.drawString(artist, artistX, cardHeight - 20);
-            
-            g2d.dispose();
+            log.info("간단한 포토카드 이미지 생성 완료 - 크기: {} bytes", imageBytes.length);
+            return imageBytes;
             
-            // 7. 바이트 배열로 변환
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(photocard, "PNG", baos);
+        } catch (RenderQueueFullException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("간단한 포토카드 이미지 생성 실패", e);
+            throw new RuntimeException("포토카드 이미지 생성에 실패했습니다: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 간단한 포토카드 렌더링 (600x400)
+     */
+    private BufferedImage createSimplePhotocardImage(BufferedImage artworkImage, ExternalArtworkResponse artwork) {
+        // 2. 포토카드 크기 설정 (600x400), 3. 배경(흰색)은 미리 래스터화된 레이어에서 복사
+        int cardWidth = PhotocardTemplateLayers.SIMPLE_CARD_WIDTH;
+        int cardHeight = PhotocardTemplateLayers.SIMPLE_CARD_HEIGHT;
+        BufferedImage photocard = templateLayers.newSimpleCanvas();
+        Graphics2D g2d = photocard.createGraphics();
+        
+        // 4. 작품 이미지 그리기 (중앙에 배치)
+        int imageWidth = 400;
+        int imageHeight = 300;
+        int x = (cardWidth - imageWidth) / 2;
+        int y = (cardHeight - imageHeight) / 2;
+        imageResizer.resizeInto(artworkImage, photocard, x, y, imageWidth, imageHeight);
+        
+        // 5. 작품 제목 추가 (폰트/레이아웃은 캐시에서 조회)
+        g2d.setColor(Color.BLACK);
+        String title = artwork.getTitle() != null ? artwork.getTitle() : "작품 제목";
+        textLayoutCache.centered(title, textLayoutCache.font("Arial", Font.BOLD, 16),
+                g2d.getFontRenderContext(), cardWidth).draw(g2d, 30);
+        
+        // 6. 작가명 추가
+        String artist = artwork.getArtist() != null ? artwork.getArtist() : "작가명";
+        textLayoutCache.centered(artist, textLayoutCache.font("Arial", Font.PLAIN, 12),
+                g2d.getFontRenderContext(), cardWidth).draw(g2d, cardHeight - 20);
+        
+        g2d.dispose();
+        return photocard;
+    }
+    
+    /**
+     * 포토카드 이미지 렌더링 후 저장소 업로드에 JPEG 로 기록
+     * 한 번 렌더링한 원본 캔버스에서 미리보기 -> 썸네일 순으로 축소하여 모든 변형을 함께 생성
+     * 인코딩도 렌더링과 같은 작업 안에서 수행 (렌더링 슬롯 하나로 끝나며 업로드 스트림에 바로 기록)
+     * 업로드 완료(commit)는 호출한 쪽에서 수행, 실패하면 upload 를 중단(abort)하고 예외
+     */
+    public void renderPhotocard(ExternalArtworkResponse artwork, EndingCreditResponse endingCredit,
+                                PhotocardUpload upload) {
+        log.info("포토카드 이미지 렌더링 시작 - artworkId: {}", artwork.getId());
+        
+        try {
+            // 1. 작품 이미지 로드 (I/O, 요청 스레드에서 수행)
+            BufferedImage artworkImage = loadArtworkImage(artwork);
             
-            log.info("간단한 포토카드 이미지 생성 완료 - 크기: {} bytes", baos.size());
-            return baos.toByteArray();
+            // 2. 포토카드 생성 (기본 템플릿 사용) + 변형 축소 + 인코딩, 렌더링 전용 워커 풀에서 수행
+            //    축소가 끝난 캔버스는 인코딩 후 바로 놓아 줌
+            renderExecutor.execute(() -> {
+                BufferedImage full = createPhotocardImage(artworkImage, artwork, endingCredit);
+                BufferedImage preview = imageResizer.resize(full,
+                        PhotocardVariant.PREVIEW.getWidth(), PhotocardVariant.PREVIEW.getHeight());
+                upload.write(PhotocardVariant.FULL, full);
+                
+                BufferedImage thumbnail = imageResizer.resize(preview,
+                        PhotocardVariant.THUMBNAIL.getWidth(), PhotocardVariant.THUMBNAIL.getHeight());
+                upload.write(PhotocardVariant.PREVIEW, preview);
+                upload.write(PhotocardVariant.THUMBNAIL, thumbnail);
+                return null;
+            });
             
+        } catch (RenderQueueFullException e) {
+            upload.abort();
+            throw e;
         } catch (Exception e) {
-            log.error("간단한 포토카드 이미지 생성 실패", e);
+            upload.abort();
+            log.error("포토카드 이미지 렌더링 실패 - artworkId: {}", artwork.getId(), e);
             throw new RuntimeException("포토카드 이미지 생성에 실패했습니다: " + e.getMessage());
         }
     }
@@ -82,20 +138,23 @@ public class ImageProcessingService {
         log.info("포토카드 이미지 생성 시작 - artworkId: {}", artwork.getId());
         
         try {
-            // 1. 작품 이미지 로드
+            // 1. 작품 이미지 로드 (I/O, 요청 스레드에서 수행)
             BufferedImage artworkImage = loadArtworkImage(artwork);
             
-            // 2. 포토카드 생성 (기본 템플릿 사용)
-            BufferedImage photocardImage = createPhotocardImage(artworkImage, artwork, endingCredit);
-            
-            // 3. 이미지를 바이트 배열로 변환
-            byte[] imageBytes = convertImageToBytes(photocardImage, "jpg");
+            // 2. 포토카드 생성 (기본 템플릿 사용), 3. 이미지를 바이트 배열로 변환
+            //    CPU 작업은 렌더링 전용 워커 풀에서 수행 (큐가 가득 차면 즉시 거절)
+            byte[] imageBytes = renderExecutor.execute(() -> {
+                BufferedImage photocardImage = createPhotocardImage(artworkImage, artwork, endingCredit);
+                return jpegEncoder.encode(photocardImage);
+            });
             
             log.info("포토카드 이미지 생성 완료 - artworkId: {}, size: {} bytes", 
                     artwork.getId(), imageBytes.length);
             
             return imageBytes;
             
+        } catch (RenderQueueFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("포토카드 이미지 생성 실패 - artworkId: {}", artwork.getId(), e);
             throw new RuntimeException("포토카드 이미지 생성에 실패했습니다: " + e.getMessage());
@@ -107,15 +166,23 @@ public class ImageProcessingService {
      */
     private BufferedImage loadArtworkImage(ExternalArtworkResponse artwork) {
         try {
-            if (artwork.getImageUrl() != null && !artwork.getImageUrl().isEmpty()) {
-                return ImageIO.read(new URL(artwork.getImageUrl()));
+            String imageUrl = artwork.getImageUrl();
+            if (imageUrl != null && !imageUrl.isEmpty()) {
+                // 작품 이미지 영역을 덮는 해상도로만 디코딩하고, URL 기준으로 캐시 (읽기 전용으로 공유)
+                BufferedImage image = artworkImageCache.get(imageUrl,
+                        () -> artworkImageDecoder.decode(new URL(imageUrl), ARTWORK_WIDTH, ARTWORK_HEIGHT));
+                if (image == null) {
+                    log.warn("지원하지 않는 이미지 형식, 더미 이미지 생성 - artworkId: {}", artwork.getId());
+                    return templateLayers.placeholderArtwork();
+                }
+                return image;
             } else {
                 log.warn("작품 이미지 URL이 없음, 더미 이미지 생성 - artworkId: {}", artwork.getId());
-                return createDummyArtworkImage(400, 300);
+                return templateLayers.placeholderArtwork();
             }
         } catch (Exception e) {
             log.warn("작품 이미지 로드 실패, 더미 이미지 생성 - artworkId: {}", artwork.getId());
-            return createDummyArtworkImage(400, 300);
+            return templateLayers.placeholderArtwork();
         }
     }
     
@@ -126,11 +193,11 @@ public class ImageProcessingService {
                                              ExternalArtworkResponse artwork, 
                                              EndingCreditResponse endingCredit) {
         // 기본 포토카드 크기
-        int width = 800;
-        int height = 600;
+        int width = PhotocardTemplateLayers.CARD_WIDTH;
+        int height = PhotocardTemplateLayers.CARD_HEIGHT;
         
-        // 포토카드 캔버스 생성
-        BufferedImage photocardImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        // 포토카드 캔버스 생성 (배경/테두리가 미리 래스터화된 레이어에서 복사)
+        BufferedImage photocardImage = templateLayers.newStandardCanvas();
         Graphics2D g2d = photocardImage.createGraphics();
         
         // 고품질 렌더링 설정
@@ -138,13 +205,10 @@ public class ImageProcessingService {
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         
-        // 1. 배경 그리기
-        drawBackground(g2d, width, height);
+        // 1. 작품 이미지 오버레이
+        drawArtworkImage(photocardImage, artworkImage);
         
-        // 2. 작품 이미지 오버레이
-        drawArtworkImage(g2d, artworkImage, width, height);
-        
-        // 3. 텍스트 오버레이
+        // 2. 텍스트 오버레이
         drawTextOverlay(g2d, artwork, endingCredit, width, height);
         
         g2d.dispose();
@@ -152,35 +216,18 @@ public class ImageProcessingService {
         return photocardImage;
     }
     
-    /**
-     * 배경 그리기
-     */
-    private void drawBackground(Graphics2D g2d, int width, int height) {
-        // 흰색 배경
-        g2d.setColor(Color.WHITE);
-        g2d.fillRect(0, 0, width, height);
-        
-        // 테두리
-        g2d.setColor(Color.LIGHT_GRAY);
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawRect(10, 10, width - 20, height - 20);
-    }
-    
     /**
      * 작품 이미지 오버레이
      */
-    private void drawArtworkImage(Graphics2D g2d, BufferedImage artworkImage, int width, int height) {
+    private void drawArtworkImage(BufferedImage photocardImage, BufferedImage artworkImage) {
         // 작품 이미지 위치와 크기
         int x = 100;
         int y = 150;
-        int imageWidth = 600;
-        int imageHeight = 300;
-        
-        // 작품 이미지 리사이즈
-        BufferedImage resizedArtwork = resizeImage(artworkImage, imageWidth, imageHeight);
+        int imageWidth = ARTWORK_WIDTH;
+        int imageHeight = ARTWORK_HEIGHT;
         
-        // 작품 이미지 그리기
-        g2d.drawImage(resizedArtwork, x, y, null);
+        // 작품 이미지를 리사이즈하여 캔버스 영역에 직접 기록 (중간 이미지 없음)
+        imageResizer.resizeInto(artworkImage, photocardImage, x, y, imageWidth, imageHeight);
     }
     
     /**
@@ -202,16 +249,14 @@ public class ImageProcessingService {
      * 제목 그리기
      */
     private void drawTitle(Graphics2D g2d, ExternalArtworkResponse artwork, int width) {
-        g2d.setFont(new Font("Arial", Font.BOLD, 24));
+        Font font = textLayoutCache.font("Arial", Font.BOLD, 24);
         g2d.setColor(Color.BLACK);
         
         String title = artwork.getTitle();
         if (title != null && !title.isEmpty()) {
-            FontMetrics fm = g2d.getFontMetrics();
-            int x = (width - fm.stringWidth(title)) / 2;
             int y = 50;
             
-            g2d.drawString(title, x, y);
+            textLayoutCache.centered(title, font, g2d.getFontRenderContext(), width).draw(g2d, y);
         }
     }
     
@@ -219,16 +264,14 @@ public class ImageProcessingService {
      * 설명 그리기
      */
     private void drawDescription(Graphics2D g2d, ExternalArtworkResponse artwork, int width) {
-        g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+        Font font = textLayoutCache.font("Arial", Font.PLAIN, 16);
         g2d.setColor(new Color(102, 102, 102));
         
         String description = artwork.getDescription();
         if (description != null && !description.isEmpty()) {
-            FontMetrics fm = g2d.getFontMetrics();
-            int x = (width - fm.stringWidth(description)) / 2;
             int y = 80;
             
-            g2d.drawString(description, x, y);
+            textLayoutCache.centered(description, font, g2d.getFontRenderContext(), width).draw(g2d, y);
         }
     }
     
@@ -241,21 +284,20 @@ public class ImageProcessingService {
             return;
         }
         
-        g2d.setFont(new Font("Arial", Font.ITALIC, 14));
+        Font font = textLayoutCache.font("Arial", Font.ITALIC, 14);
         g2d.setColor(new Color(153, 153, 153));
         
         String content = endingCredit.getConversationSummary();
         if (content != null && !content.isEmpty()) {
             // 긴 텍스트는 여러 줄로 나누기
             String[] lines = wrapText(content, 60);
-            FontMetrics fm = g2d.getFontMetrics();
-            int lineHeight = fm.getHeight();
+            FontRenderContext frc = g2d.getFontRenderContext();
+            int lineHeight = Math.round(font.getLineMetrics(content, frc).getHeight());
             int startY = height - 100;
             
             for (int i = 0; i < lines.length && i < 3; i++) {
-                int x = (width - fm.stringWidth(lines[i])) / 2;
                 int y = startY + (i * lineHeight);
-                g2d.drawString(lines[i], x, y);
+                textLayoutCache.centered(lines[i], font, frc, width).draw(g2d, y);
             }
         }
     }
@@ -297,58 +339,10 @@ public class ImageProcessingService {
     
     
     /**
-     * 더미 작품 이미지 생성
-     */
-    private BufferedImage createDummyArtworkImage(int width, int height) {
-        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = image.createGraphics();
-        
-        // 그라데이션 배경
-        GradientPaint gradient = new GradientPaint(
-                0, 0, new Color(135, 206, 250),
-                width, height, new Color(255, 182, 193));
-        g2d.setPaint(gradient);
-        g2d.fillRect(0, 0, width, height);
-        
-        // 중앙에 텍스트
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 20));
-        FontMetrics fm = g2d.getFontMetrics();
-        String text = "작품 이미지";
-        int x = (width - fm.stringWidth(text)) / 2;
-        int y = (height + fm.getHeight()) / 2;
-        g2d.drawString(text, x, y);
-        
-        g2d.dispose();
-        return image;
-    }
-    
-    /**
-     * 이미지를 바이트 배열로 변환
-     */
-    private byte[] convertImageToBytes(BufferedImage image, String format) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ImageIO.write(image, format, baos);
-        return baos.toByteArray();
-    }
-    
-    /**
-     * 이미지 리사이즈
+     * 이미지 리사이즈 (설정된 리사이즈 모드 사용)
      */
     public BufferedImage resizeImage(BufferedImage originalImage, int targetWidth, int targetHeight) {
-        BufferedImage resizedImage = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = resizedImage.createGraphics();
-        
-        // 고품질 렌더링 설정
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        
-        // 이미지 그리기
-        g2d.drawImage(originalImage, 0, 0, targetWidth, targetHeight, null);
-        g2d.dispose();
-        
-        return resizedImage;
+        return imageResizer.resize(originalImage, targetWidth, targetHeight);
     }
     
 }
@@ -0,0 +1,251 @@
+package com.photocard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+
+/**
+ * 이미지 리사이즈 엔진
+ * - FAST: 단일 bilinear 패스
+ * - BALANCED: 절반씩 단계적 축소 (progressive halving)
+ * - HIGH_QUALITY: int[] 래스터 위에서 분리형 Lanczos/Mitchell 컨볼루션
+ * 렌더링 워커 풀(RenderExecutor) 안에서 호출되므로 한 이미지는 한 스레드에서 처리
+ * (병렬성은 렌더링 풀이 카드 단위로 제공, 행 단위로 다시 나누면 풀 크기 제한을 벗어나 다른 카드와 CPU 를 다툼)
+ * 결과를 대상 이미지의 지정 영역에 바로 쓰는 resizeInto 로 중간 이미지 할당을 줄일 수 있음
+ */
+@Component
+@Slf4j
+public class ImageResizer {
+    
+    private final ResizeMode defaultMode;
+    private final ResizeFilter filter;
+    
+    public ImageResizer(@Value("${image.resize.mode:BALANCED}") ResizeMode defaultMode,
+                        @Value("${image.resize.filter:LANCZOS3}") ResizeFilter filter) {
+        this.defaultMode = defaultMode;
+        this.filter = filter;
+        log.info("이미지 리사이즈 엔진 초기화 - mode: {}, filter: {}", defaultMode, filter);
+    }
+    
+    /**
+     * 기본 모드로 리사이즈
+     */
+    public BufferedImage resize(BufferedImage source, int targetWidth, int targetHeight) {
+        return resize(source, targetWidth, targetHeight, defaultMode);
+    }
+    
+    /**
+     * 지정 모드로 리사이즈
+     * 원본이 이미 목표 크기의 TYPE_INT_RGB 이면 복사 없이 그대로 반환 (읽기 전용으로 사용)
+     */
+    public BufferedImage resize(BufferedImage source, int targetWidth, int targetHeight, ResizeMode mode) {
+        if (source.getWidth() == targetWidth && source.getHeight() == targetHeight
+                && source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        resizeInto(source, target, 0, 0, targetWidth, targetHeight, mode);
+        return target;
+    }
+    
+    /**
+     * 기본 모드로 대상 이미지의 (x, y, width, height) 영역에 리사이즈 결과를 직접 기록
+     */
+    public void resizeInto(BufferedImage source, BufferedImage target, int x, int y, int width, int height) {
+        resizeInto(source, target, x, y, width, height, defaultMode);
+    }
+    
+    /**
+     * 지정 모드로 대상 이미지의 (x, y, width, height) 영역에 리사이즈 결과를 직접 기록
+     */
+    public void resizeInto(BufferedImage source, BufferedImage target,
+                           int x, int y, int width, int height, ResizeMode mode) {
+        switch (mode) {
+            case FAST -> drawScaled(source, target, x, y, width, height);
+            case BALANCED -> drawScaled(halveTowards(source, width, height), target, x, y, width, height);
+            case HIGH_QUALITY -> {
+                if (isPackedIntRgb(target)) {
+                    convolve(source, target, x, y, width, height);
+                } else {
+                    BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+                    convolve(source, scaled, 0, 0, width, height);
+                    drawScaled(scaled, target, x, y, width, height);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 단일 bilinear 패스
+     */
+    private void drawScaled(BufferedImage source, BufferedImage target, int x, int y, int width, int height) {
+        Graphics2D g2d = target.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(source, x, y, width, height, null);
+        g2d.dispose();
+    }
+    
+    /**
+     * 목표 크기의 2배 미만이 될 때까지 절반씩 축소
+     */
+    private BufferedImage halveTowards(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        
+        while (width / 2 >= targetWidth || height / 2 >= targetHeight) {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            drawScaled(current, next, 0, 0, width, height);
+            current = next;
+        }
+        return current;
+    }
+    
+    /**
+     * 분리형 컨볼루션 (가로 패스 -> 세로 패스)
+     */
+    private void convolve(BufferedImage source, BufferedImage target, int x, int y, int width, int height) {
+        BufferedImage rgbSource = toPackedIntRgb(source);
+        int sourceWidth = rgbSource.getWidth();
+        int sourceHeight = rgbSource.getHeight();
+        int[] sourcePixels = ((DataBufferInt) rgbSource.getRaster().getDataBuffer()).getData();
+        int sourceStride = ((SinglePixelPackedSampleModel) rgbSource.getSampleModel()).getScanlineStride();
+        
+        int[] targetPixels = ((DataBufferInt) target.getRaster().getDataBuffer()).getData();
+        int targetStride = ((SinglePixelPackedSampleModel) target.getSampleModel()).getScanlineStride();
+        
+        Contributions horizontal = Contributions.of(filter, sourceWidth, width);
+        Contributions vertical = Contributions.of(filter, sourceHeight, height);
+        
+        // 1. 가로 패스: 원본 각 행을 목표 너비로 (채널별 float)
+        float[] intermediate = new float[sourceHeight * width * 3];
+        for (int row = 0; row < sourceHeight; row++) {
+            int sourceRow = row * sourceStride;
+            int out = row * width * 3;
+            for (int col = 0; col < width; col++) {
+                int start = horizontal.start[col];
+                int count = horizontal.count[col];
+                int weightIndex = col * horizontal.stride;
+                float r = 0, g = 0, b = 0;
+                for (int k = 0; k < count; k++) {
+                    int pixel = sourcePixels[sourceRow + start + k];
+                    float weight = horizontal.weights[weightIndex + k];
+                    r += ((pixel >> 16) & 0xFF) * weight;
+                    g += ((pixel >> 8) & 0xFF) * weight;
+                    b += (pixel & 0xFF) * weight;
+                }
+                intermediate[out++] = r;
+                intermediate[out++] = g;
+                intermediate[out++] = b;
+            }
+        }
+        
+        // 2. 세로 패스: 중간 결과를 목표 높이로, 대상 래스터 영역에 직접 기록
+        for (int row = 0; row < height; row++) {
+            int start = vertical.start[row];
+            int count = vertical.count[row];
+            int weightIndex = row * vertical.stride;
+            int out = (y + row) * targetStride + x;
+            for (int col = 0; col < width; col++) {
+                float r = 0, g = 0, b = 0;
+                int in = (start * width + col) * 3;
+                for (int k = 0; k < count; k++) {
+                    float weight = vertical.weights[weightIndex + k];
+                    r += intermediate[in] * weight;
+                    g += intermediate[in + 1] * weight;
+                    b += intermediate[in + 2] * weight;
+                    in += width * 3;
+                }
+                targetPixels[out + col] = (clamp(r) << 16) | (clamp(g) << 8) | clamp(b);
+            }
+        }
+    }
+    
+    private static int clamp(float value) {
+        int rounded = Math.round(value);
+        return rounded < 0 ? 0 : Math.min(rounded, 255);
+    }
+    
+    /**
+     * 오프셋 없는 TYPE_INT_RGB 래스터인지 확인
+     */
+    private static boolean isPackedIntRgb(BufferedImage image) {
+        return image.getType() == BufferedImage.TYPE_INT_RGB
+                && image.getSampleModel() instanceof SinglePixelPackedSampleModel
+                && image.getRaster().getSampleModelTranslateX() == 0
+                && image.getRaster().getSampleModelTranslateY() == 0;
+    }
+    
+    /**
+     * 컨볼루션 입력용 TYPE_INT_RGB 변환 (이미 해당 형식이면 그대로 사용)
+     */
+    private static BufferedImage toPackedIntRgb(BufferedImage image) {
+        if (isPackedIntRgb(image)) {
+            return image;
+        }
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = converted.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return converted;
+    }
+    
+    /**
+     * 출력 좌표별 입력 구간과 정규화된 가중치
+     */
+    private static final class Contributions {
+        private final int[] start;
+        private final int[] count;
+        private final float[] weights;
+        private final int stride;
+        
+        private Contributions(int[] start, int[] count, float[] weights, int stride) {
+            this.start = start;
+            this.count = count;
+            this.weights = weights;
+            this.stride = stride;
+        }
+        
+        static Contributions of(ResizeFilter filter, int sourceSize, int targetSize) {
+            double scale = (double) sourceSize / targetSize;
+            // 축소 시에는 필터를 배율만큼 넓혀 저역 통과 (앨리어싱 방지)
+            double filterScale = Math.max(scale, 1.0);
+            double support = filter.radius() * filterScale;
+            int stride = (int) Math.ceil(support * 2) + 1;
+            
+            int[] start = new int[targetSize];
+            int[] count = new int[targetSize];
+            float[] weights = new float[targetSize * stride];
+            
+            for (int i = 0; i < targetSize; i++) {
+                double center = (i + 0.5) * scale - 0.5;
+                int left = Math.max(0, (int) Math.ceil(center - support));
+                int right = Math.min(sourceSize - 1, (int) Math.floor(center + support));
+                int n = Math.min(stride, right - left + 1);
+                
+                double total = 0;
+                for (int k = 0; k < n; k++) {
+                    double weight = filter.weight((left + k - center) / filterScale);
+                    weights[i * stride + k] = (float) weight;
+                    total += weight;
+                }
+                if (total != 0) {
+                    for (int k = 0; k < n; k++) {
+                        weights[i * stride + k] /= (float) total;
+                    }
+                }
+                start[i] = left;
+                count[i] = n;
+            }
+            return new Contributions(start, count, weights, stride);
+        }
+    }
+}
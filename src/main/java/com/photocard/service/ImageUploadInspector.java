@@ -0,0 +1,105 @@
+package com.photocard.service;
+
+import com.photocard.exception.PhotocardUploadRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 사용자 업로드 이미지 사전 검사
+ * - 본문을 읽기 전에 Content-Length 로 크기 상한 확인
+ * - 스트림 앞부분(헤더)만 읽어 JPEG 여부와 가로/세로 크기 확인 후 처음 위치로 되돌림
+ * - 본문 전체를 메모리에 올리지 않고 검사한 스트림을 그대로 저장소로 전달
+ */
+@Component
+@Slf4j
+public class ImageUploadInspector {
+    
+    private static final String JPEG_FORMAT = "jpeg";
+    
+    private final long maxBytes;
+    private final int maxDimension;
+    private final int headerBytes;
+    
+    public ImageUploadInspector(@Value("${photocard.upload.max-bytes:10MB}") DataSize maxBytes,
+                                @Value("${photocard.upload.max-dimension:8192}") int maxDimension,
+                                @Value("${photocard.upload.header-bytes:256KB}") DataSize headerBytes) {
+        this.maxBytes = maxBytes.toBytes();
+        this.maxDimension = maxDimension;
+        this.headerBytes = (int) headerBytes.toBytes();
+    }
+    
+    /**
+     * 본문 길이 확인 (길이를 알 수 없으면 411, 상한 초과면 413)
+     */
+    public void checkLength(long length) {
+        if (length < 0) {
+            throw new PhotocardUploadRejectedException("Content-Length 가 필요합니다", HttpStatus.LENGTH_REQUIRED);
+        }
+        if (length == 0) {
+            throw new PhotocardUploadRejectedException("업로드된 이미지가 비어 있습니다", HttpStatus.BAD_REQUEST);
+        }
+        if (length > maxBytes) {
+            throw new PhotocardUploadRejectedException(
+                    "이미지 크기가 상한(" + maxBytes + " bytes)을 초과했습니다: " + length, HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+    }
+    
+    /**
+     * 헤더에서 JPEG 여부와 크기를 확인하고, 처음부터 다시 읽을 수 있는 스트림 반환
+     */
+    public InputStream inspect(InputStream imageData) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(imageData, headerBytes);
+        in.mark(headerBytes);
+        byte[] header = in.readNBytes(headerBytes);
+        in.reset();
+        
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(new ByteArrayInputStream(header))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new PhotocardUploadRejectedException("지원하지 않는 이미지 형식입니다", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+            }
+            
+            ImageReader reader = readers.next();
+            try {
+                if (!JPEG_FORMAT.equalsIgnoreCase(reader.getFormatName())) {
+                    throw new PhotocardUploadRejectedException(
+                            "JPEG 이미지만 업로드할 수 있습니다: " + reader.getFormatName(), HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+                }
+                reader.setInput(iis, true, true);
+                
+                int width;
+                int height;
+                try {
+                    width = reader.getWidth(0);
+                    height = reader.getHeight(0);
+                } catch (IOException e) {
+                    // 헤더 범위 안에서 SOF 마커를 찾지 못함 (손상되었거나 메타데이터가 비정상적으로 큼)
+                    throw new PhotocardUploadRejectedException(
+                            "이미지 헤더를 읽을 수 없습니다: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+                }
+                if (width > maxDimension || height > maxDimension) {
+                    throw new PhotocardUploadRejectedException(
+                            "이미지 크기가 상한(" + maxDimension + "px)을 초과했습니다: " + width + "x" + height,
+                            HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+                log.debug("업로드 이미지 검사 통과 - {}x{}", width, height);
+                return in;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
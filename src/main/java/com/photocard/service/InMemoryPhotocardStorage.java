@@ -0,0 +1,94 @@
+package com.photocard.service;
+
+import com.photocard.exception.PhotocardImageNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 저장소 (테스트, 벤치마크, 로컬 개발용)
+ * 재시작하면 모든 이미지가 사라짐
+ */
+@Slf4j
+public class InMemoryPhotocardStorage implements PhotocardStorage {
+    
+    private final JpegEncoder jpegEncoder;
+    private final String fileBaseUrl;
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    
+    public InMemoryPhotocardStorage(JpegEncoder jpegEncoder, String fileBaseUrl) {
+        this.jpegEncoder = jpegEncoder;
+        this.fileBaseUrl = fileBaseUrl;
+    }
+    
+    @Override
+    public String name() {
+        return "memory";
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData) {
+        files.put(variant.fileName(fileId), imageData);
+        log.debug("메모리 저장소에 포토카드 이미지 저장 - fileId: {}, variant: {}, size: {} bytes", fileId, variant, imageData.length);
+        return new StoredPhotocard(fileId, generateDownloadUrl(fileId));
+    }
+    
+    /**
+     * write 는 렌더링 스레드에서 인코딩해 대기 맵에 두고, commit 에서 한 번에 저장 (인코딩 위치는 다른 저장소와 같음)
+     */
+    @Override
+    public PhotocardUpload beginPhotocardImages(String fileId) {
+        Map<String, byte[]> pending = new HashMap<>();
+        return new PhotocardUpload() {
+            @Override
+            public void write(PhotocardVariant variant, BufferedImage image) throws IOException {
+                pending.put(variant.fileName(fileId), jpegEncoder.encode(image));
+            }
+            
+            @Override
+            public StoredPhotocard commit() {
+                files.putAll(pending);
+                log.debug("메모리 저장소에 포토카드 이미지 저장 - fileId: {}, variants: {}", fileId, pending.keySet());
+                return new StoredPhotocard(fileId, generateDownloadUrl(fileId));
+            }
+            
+            @Override
+            public void abort() {
+                pending.clear();
+            }
+        };
+    }
+    
+    @Override
+    public Resource loadPhotocardImage(String fileId, PhotocardVariant variant) {
+        String fileName = variant.fileName(fileId);
+        byte[] imageData = files.get(fileName);
+        if (imageData == null) {
+            throw new PhotocardImageNotFoundException(fileName);
+        }
+        return new ByteArrayResource(imageData, fileName);
+    }
+    
+    @Override
+    public void deletePhotocardImage(String fileId) {
+        for (PhotocardVariant variant : PhotocardVariant.values()) {
+            files.remove(variant.fileName(fileId));
+        }
+    }
+    
+    @Override
+    public String generateDownloadUrl(String fileId) {
+        return fileBaseUrl + "/api/photocards/" + fileId + "/download";
+    }
+    
+    @Override
+    public String generatePreviewUrl(String fileId) {
+        return fileBaseUrl + "/api/photocards/" + fileId + "/preview";
+    }
+}
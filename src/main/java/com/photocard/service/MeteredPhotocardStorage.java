@@ -0,0 +1,124 @@
+package com.photocard.service;
+
+import com.photocard.exception.PhotocardImageNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.io.Resource;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 저장소 호출 지연 시간 측정 래퍼
+ * photocard.storage.latency{backend, operation, outcome} (/actuator/metrics)
+ */
+public class MeteredPhotocardStorage implements PhotocardStorage {
+    
+    private static final String METRIC_NAME = "photocard.storage.latency";
+    
+    private final PhotocardStorage delegate;
+    private final MeterRegistry meterRegistry;
+    // operation:outcome 별 타이머 (호출마다 레지스트리를 조회하지 않도록)
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    
+    public MeteredPhotocardStorage(PhotocardStorage delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData) {
+        return record("save", () -> delegate.savePhotocardImage(fileId, variant, imageData));
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, InputStream imageData, long length) {
+        return record("save", () -> delegate.savePhotocardImage(fileId, variant, imageData, length));
+    }
+    
+    /**
+     * 인코딩(write)은 렌더링 시간에 포함되므로 저장 완료(commit)만 측정
+     */
+    @Override
+    public PhotocardUpload beginPhotocardImages(String fileId) {
+        PhotocardUpload upload = delegate.beginPhotocardImages(fileId);
+        return new PhotocardUpload() {
+            @Override
+            public void write(PhotocardVariant variant, BufferedImage image) throws IOException {
+                upload.write(variant, image);
+            }
+            
+            @Override
+            public StoredPhotocard commit() {
+                return record("save", upload::commit);
+            }
+            
+            @Override
+            public void abort() {
+                upload.abort();
+            }
+        };
+    }
+    
+    @Override
+    public Resource loadPhotocardImage(String fileId, PhotocardVariant variant) {
+        return record("load", () -> delegate.loadPhotocardImage(fileId, variant));
+    }
+    
+    @Override
+    public void deletePhotocardImage(String fileId) {
+        record("delete", () -> {
+            delegate.deletePhotocardImage(fileId);
+            return null;
+        });
+    }
+    
+    @Override
+    public String generateDownloadUrl(String fileId) {
+        return record("url", () -> delegate.generateDownloadUrl(fileId));
+    }
+    
+    @Override
+    public String generatePreviewUrl(String fileId) {
+        return record("url", () -> delegate.generatePreviewUrl(fileId));
+    }
+    
+    @Override
+    public Optional<String> generateSignedUrl(String fileId, PhotocardVariant variant, Duration ttl, String fileName) {
+        return record("url", () -> delegate.generateSignedUrl(fileId, variant, ttl, fileName));
+    }
+    
+    private <T> T record(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (PhotocardImageNotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            String tag = outcome;
+            timers.computeIfAbsent(operation + ":" + outcome, key -> Timer.builder(METRIC_NAME)
+                            .description("포토카드 저장소 호출 지연 시간")
+                            .tags("backend", delegate.name(), "operation", operation, "outcome", tag)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
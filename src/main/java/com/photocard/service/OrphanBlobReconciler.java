@@ -0,0 +1,256 @@
+package com.photocard.service;
+
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.storage.blob.models.BlobItem;
+import com.photocard.repository.PhotocardBlobRepository;
+import com.photocard.repository.PhotocardRepository;
+import com.photocard.repository.PhotocardRepository.PhotocardDownloadUrl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 고아 blob 정리 (photocard.reconciler.enabled)
+ * DB 저장 실패 등으로 photocards 행이 참조하지 않는 blob 을 주기적으로 삭제
+ * 1. photocards.download_url 을 id keyset 페이지로 읽어 참조 중인 fileId 를 Bloom filter 에 기록
+ * 2. 컨테이너 목록을 페이지 단위로 순회하며 Bloom filter 에 없는 blob 을 고아로 판단
+ * 3. 고아를 delete-batch-size 개씩 모아 Blob Batch API 로 삭제
+ * 힙 사용량은 Bloom filter(참조 수에 비례, 수천만 건도 수십 MB) + 목록/삭제 페이지 하나로 제한
+ * 생성 중인 카드(업로드 후 DB 저장 전)를 지우지 않도록 min-age 보다 최근에 수정된 blob 은 건너뜀
+ * 내용 주소 blob 은 재사용되어도 수정 시각이 바뀌지 않으므로 photocard_blobs.last_referenced_at 으로 다시 확인
+ */
+@Component
+@ConditionalOnProperty(name = "photocard.reconciler.enabled", havingValue = "true")
+@Slf4j
+public class OrphanBlobReconciler {
+    
+    private static final String DOWNLOAD_PATH_PREFIX = "/api/photocards/";
+    
+    private final AzureStorageService azureStorageService;
+    private final PhotocardRepository photocardRepository;
+    private final PhotocardBlobRepository photocardBlobRepository;
+    private final Duration minAge;
+    private final int listPageSize;
+    private final int dbPageSize;
+    private final int deleteBatchSize;
+    private final double falsePositiveRate;
+    private final boolean dryRun;
+    private final Counter scannedBlobs;
+    private final Counter orphanBlobs;
+    private final Counter deletedBlobs;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public OrphanBlobReconciler(AzureStorageService azureStorageService,
+                                PhotocardRepository photocardRepository,
+                                PhotocardBlobRepository photocardBlobRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${photocard.reconciler.min-age:24h}") Duration minAge,
+                                @Value("${photocard.reconciler.list-page-size:5000}") int listPageSize,
+                                @Value("${photocard.reconciler.db-page-size:10000}") int dbPageSize,
+                                @Value("${photocard.reconciler.delete-batch-size:256}") int deleteBatchSize,
+                                @Value("${photocard.reconciler.false-positive-rate:0.001}") double falsePositiveRate,
+                                @Value("${photocard.reconciler.dry-run:false}") boolean dryRun) {
+        this.azureStorageService = azureStorageService;
+        this.photocardRepository = photocardRepository;
+        this.photocardBlobRepository = photocardBlobRepository;
+        this.minAge = minAge;
+        this.listPageSize = listPageSize;
+        this.dbPageSize = dbPageSize;
+        // Blob Batch 요청 1회 상한 256
+        this.deleteBatchSize = Math.max(1, Math.min(deleteBatchSize, 256));
+        this.falsePositiveRate = falsePositiveRate;
+        this.dryRun = dryRun;
+        this.scannedBlobs = blobCounter(meterRegistry, "scanned");
+        this.orphanBlobs = blobCounter(meterRegistry, "orphan");
+        this.deletedBlobs = blobCounter(meterRegistry, "deleted");
+    }
+    
+    private static Counter blobCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("photocard.reconciler.blobs")
+                .description("고아 blob 정리에서 확인/판정/삭제한 blob 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(cron = "${photocard.reconciler.cron:0 30 4 * * *}")
+    public void scheduledReconcile() {
+        // 이전 실행이 끝나지 않았으면 건너뜀 (노드가 여러 대여도 삭제 대상은 같으므로 중복 실행은 무해)
+        if (!running.compareAndSet(false, true)) {
+            log.warn("고아 blob 정리가 아직 실행 중이므로 이번 주기는 건너뜀");
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("고아 blob 정리 실패", e);
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    /**
+     * 고아 blob 정리 1회 실행 후 삭제(dry-run 이면 판정)한 blob 수 반환
+     */
+    public long reconcile() {
+        long startedAt = System.nanoTime();
+        Instant cutoff = Instant.now().minus(minAge);
+        
+        // 정리 중 새로 생성되는 카드도 담을 수 있도록 여유를 두고 크기 결정
+        long expected = photocardRepository.count();
+        FileIdBloomFilter referenced = new FileIdBloomFilter(expected + expected / 10 + 1024, falsePositiveRate);
+        ReferenceCursor cursor = new ReferenceCursor(referenced);
+        cursor.advance();
+        log.info("고아 blob 정리 시작 - 참조 카드: {}, Bloom filter: {} bytes, cutoff: {}, dryRun: {}",
+                cursor.rows, referenced.sizeInBytes(), cutoff, dryRun);
+        if (cursor.unresolved > 0) {
+            log.warn("fileId 를 알 수 없는 download_url {}건은 정리 기준에서 제외됨", cursor.unresolved);
+        }
+        
+        long scanned = 0;
+        long orphans = 0;
+        Set<String> batch = new LinkedHashSet<>();
+        for (PagedResponse<BlobItem> page : azureStorageService.listPhotocardBlobs(listPageSize)) {
+            for (BlobItem item : page.getValue()) {
+                scanned++;
+                String fileId = PhotocardVariant.fileIdOf(item.getName());
+                OffsetDateTime lastModified = item.getProperties() != null ? item.getProperties().getLastModified() : null;
+                if (fileId == null || lastModified == null || lastModified.toInstant().isAfter(cutoff)) {
+                    continue;
+                }
+                if (referenced.mightContain(fileId)) {
+                    continue;
+                }
+                batch.add(item.getName());
+                if (batch.size() >= deleteBatchSize) {
+                    orphans += deleteOrphans(batch, cursor, cutoff);
+                    batch.clear();
+                }
+            }
+            scannedBlobs.increment(page.getValue().size());
+        }
+        if (!batch.isEmpty()) {
+            orphans += deleteOrphans(batch, cursor, cutoff);
+        }
+        
+        log.info("고아 blob 정리 완료 - 확인: {}, 고아: {}, 소요: {}ms, dryRun: {}",
+                scanned, orphans, Duration.ofNanos(System.nanoTime() - startedAt).toMillis(), dryRun);
+        return orphans;
+    }
+    
+    /**
+     * 고아 후보 삭제
+     * 목록 순회 중 새로 저장된 카드가 후보를 참조할 수 있으므로 삭제 직전에 이후 추가된 행을 다시 반영
+     */
+    private long deleteOrphans(Set<String> blobNames, ReferenceCursor cursor, Instant cutoff) {
+        cursor.advance();
+        
+        List<String> orphans = new ArrayList<>(blobNames.size());
+        Set<String> orphanFileIds = new LinkedHashSet<>();
+        for (String blobName : blobNames) {
+            String fileId = PhotocardVariant.fileIdOf(blobName);
+            if (!cursor.referenced.mightContain(fileId)) {
+                orphans.add(blobName);
+                orphanFileIds.add(fileId);
+            }
+        }
+        if (orphans.isEmpty()) {
+            return 0;
+        }
+        orphanBlobs.increment(orphans.size());
+        
+        if (dryRun) {
+            log.info("고아 blob (dry-run, 삭제하지 않음) - {}개, 예: {}", orphans.size(), orphans.get(0));
+            return orphans.size();
+        }
+        
+        // 내용 주소 기록을 먼저 지워 이후 저장이 삭제될 blob 을 재사용하지 않도록 함
+        // cutoff 이후 재사용된 행(새 카드가 곧 참조할 blob)은 남기고, 행을 실제로 지웠거나 행이 없는 blob 만 삭제
+        LocalDateTime referencedCutoff = LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault());
+        Set<String> reused = new LinkedHashSet<>();
+        for (String fileId : orphanFileIds) {
+            if (photocardBlobRepository.deleteIfUnreferencedSince(fileId, referencedCutoff) == 0
+                    && photocardBlobRepository.existsById(fileId)) {
+                reused.add(fileId);
+            }
+        }
+        if (!reused.isEmpty()) {
+            orphans.removeIf(blobName -> reused.contains(PhotocardVariant.fileIdOf(blobName)));
+            log.info("최근 재사용된 내용 주소 blob 은 삭제하지 않음 - {}개, 예: {}", reused.size(), reused.iterator().next());
+            if (orphans.isEmpty()) {
+                return 0;
+            }
+        }
+        int deleted = azureStorageService.deleteBlobs(orphans);
+        deletedBlobs.increment(deleted);
+        log.info("고아 blob 삭제 - 요청: {}, 삭제: {}", orphans.size(), deleted);
+        return deleted;
+    }
+    
+    /**
+     * download_url 에서 fileId 추출
+     * - blob URL: .../photocard_{fileId}.jpg
+     * - 앱 URL: .../api/photocards/{fileId}/download
+     */
+    static String fileIdFromUrl(String downloadUrl) {
+        if (downloadUrl == null) {
+            return null;
+        }
+        int query = downloadUrl.indexOf('?');
+        String path = query >= 0 ? downloadUrl.substring(0, query) : downloadUrl;
+        
+        int apiPath = path.indexOf(DOWNLOAD_PATH_PREFIX);
+        if (apiPath >= 0) {
+            String rest = path.substring(apiPath + DOWNLOAD_PATH_PREFIX.length());
+            int slash = rest.indexOf('/');
+            return slash > 0 ? rest.substring(0, slash) : (rest.isEmpty() ? null : rest);
+        }
+        return PhotocardVariant.fileIdOf(path.substring(path.lastIndexOf('/') + 1));
+    }
+    
+    /**
+     * photocards 를 id 순으로 읽어 Bloom filter 에 반영하는 커서 (마지막으로 읽은 id 이후만 다시 읽음)
+     */
+    private final class ReferenceCursor {
+        private final FileIdBloomFilter referenced;
+        private long lastId;
+        private long rows;
+        private long unresolved;
+        
+        private ReferenceCursor(FileIdBloomFilter referenced) {
+            this.referenced = referenced;
+        }
+        
+        private void advance() {
+            List<PhotocardDownloadUrl> page;
+            do {
+                page = photocardRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, dbPageSize));
+                for (PhotocardDownloadUrl row : page) {
+                    String fileId = fileIdFromUrl(row.getDownloadUrl());
+                    if (fileId != null) {
+                        referenced.put(fileId);
+                    } else {
+                        unresolved++;
+                    }
+                    lastId = row.getId();
+                }
+                rows += page.size();
+            } while (page.size() == dbPageSize);
+        }
+    }
+}
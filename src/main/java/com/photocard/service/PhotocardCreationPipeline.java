@@ -0,0 +1,180 @@
+package com.photocard.service;
+
+import com.photocard.dto.ExternalArtworkResponse;
+import com.photocard.dto.PhotocardCreateRequest;
+import com.photocard.dto.PhotocardJobStatus;
+import com.photocard.dto.PhotocardResponse;
+import com.photocard.entity.Photocard;
+import com.photocard.exception.RenderQueueFullException;
+import com.photocard.repository.PhotocardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * 포토카드 생성 파이프라인
+ * 1. 작품 정보 조회 (Exhibition API)
+ * 2. 렌더링 (작품 이미지 다운로드 후 RenderExecutor 에서 렌더링)
+ * 3. 업로드
+ * 4. DB 저장 (prepare 는 3단계까지만 실행하고 저장은 호출한 쪽에서 모아서 수행)
+ * 각 단계는 I/O 실행기에서 비동기로 이어서 실행되며, 단계 전환 시 listener 로 상태를 알림
+ */
+@Component
+@Slf4j
+public class PhotocardCreationPipeline {
+    
+    private final ExternalApiService externalApiService;
+    private final ImageProcessingService imageProcessingService;
+    private final PhotocardStorage photocardStorage;
+    private final PhotocardRepository photocardRepository;
+    private final PhotocardNearCache photocardNearCache;
+    private final RemoteCallRecorder remoteCallRecorder;
+    private final ConnectionHoldRecorder connectionHoldRecorder;
+    private final Executor ioExecutor;
+    private final long retryAfterSeconds;
+    
+    public PhotocardCreationPipeline(ExternalApiService externalApiService,
+                                     ImageProcessingService imageProcessingService,
+                                     PhotocardStorage photocardStorage,
+                                     PhotocardRepository photocardRepository,
+                                     PhotocardNearCache photocardNearCache,
+                                     RemoteCallRecorder remoteCallRecorder,
+                                     ConnectionHoldRecorder connectionHoldRecorder,
+                                     @Qualifier("photocardIoExecutor") Executor ioExecutor,
+                                     @Value("${image.render.retry-after:5s}") Duration retryAfter) {
+        this.externalApiService = externalApiService;
+        this.imageProcessingService = imageProcessingService;
+        this.photocardStorage = photocardStorage;
+        this.photocardRepository = photocardRepository;
+        this.photocardNearCache = photocardNearCache;
+        this.remoteCallRecorder = remoteCallRecorder;
+        this.connectionHoldRecorder = connectionHoldRecorder;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        // 큐가 가득 차 거절되면 RenderQueueFullException 으로 변환 (503 + Retry-After 로 응답)
+        this.ioExecutor = task -> {
+            try {
+                ioExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                log.warn("포토카드 생성 파이프라인 큐가 가득 참");
+                throw new RenderQueueFullException("포토카드 생성 요청이 많아 잠시 후 다시 시도해주세요", retryAfterSeconds);
+            }
+        };
+    }
+    
+    /**
+     * 파이프라인 실행
+     * 첫 단계 제출이 거절되면 RenderQueueFullException 을 바로 던지고,
+     * 이후 단계에서 거절되면 반환된 future 가 RenderQueueFullException 으로 실패
+     */
+    public CompletableFuture<PhotocardResponse> run(PhotocardCreateRequest request,
+                                                    Consumer<PhotocardJobStatus> listener) {
+        // 요청 1건의 외부 호출 횟수 (각 단계 스레드에 연결)
+        RemoteCallLedger ledger = new RemoteCallLedger();
+        
+        return upload(request, listener, ledger)
+                .thenApply(this::save)
+                .whenComplete((response, error) -> summarize(request, ledger, error));
+    }
+    
+    /**
+     * 업로드까지만 실행하고 저장 전 포토카드 엔티티 반환 (여러 건을 모아 한 번에 저장할 때 사용)
+     * 제출이 거절되면 run 과 같이 RenderQueueFullException
+     */
+    public CompletableFuture<Photocard> prepare(PhotocardCreateRequest request,
+                                                Consumer<PhotocardJobStatus> listener) {
+        RemoteCallLedger ledger = new RemoteCallLedger();
+        
+        return upload(request, listener, ledger)
+                .whenComplete((photocard, error) -> summarize(request, ledger, error));
+    }
+    
+    /**
+     * 1~3단계: 작품 조회 → 렌더링(변형 인코딩까지) → 업로드 완료
+     * 렌더링 이후 단계가 실패하거나 거절되면 기록해 둔 업로드를 중단
+     */
+    private CompletableFuture<Photocard> upload(PhotocardCreateRequest request,
+                                                Consumer<PhotocardJobStatus> listener,
+                                                RemoteCallLedger ledger) {
+        CompletableFuture<RenderedPhotocard> rendered = CompletableFuture
+                .supplyAsync(() -> remoteCallRecorder.within(ledger, () -> {
+                    listener.accept(PhotocardJobStatus.FETCHING_ARTWORK);
+                    return fetchArtwork(request);
+                }), ioExecutor)
+                .thenApplyAsync(artwork -> remoteCallRecorder.within(ledger, () -> {
+                    listener.accept(PhotocardJobStatus.RENDERING);
+                    PhotocardUpload upload = photocardStorage.beginPhotocardImages();
+                    imageProcessingService.renderPhotocard(artwork, null, upload);
+                    return new RenderedPhotocard(artwork, upload);
+                }), ioExecutor);
+        
+        return rendered
+                .thenApplyAsync(photocard -> remoteCallRecorder.within(ledger, () -> {
+                    listener.accept(PhotocardJobStatus.UPLOADING);
+                    return store(request, photocard);
+                }), ioExecutor)
+                .whenComplete((photocard, error) -> {
+                    if (error != null) {
+                        rendered.thenAccept(renderedPhotocard -> renderedPhotocard.upload().abort());
+                    }
+                });
+    }
+    
+    private void summarize(PhotocardCreateRequest request, RemoteCallLedger ledger, Throwable error) {
+        if (error == null) {
+            remoteCallRecorder.summarize(ledger, RemoteCallRecorder.EXHIBITION,
+                    RemoteCallRecorder.ARTWORK_IMAGE, RemoteCallRecorder.AZURE);
+        }
+        log.info("포토카드 생성 외부 호출 - artworkId: {}, total: {}, calls: {}",
+                request.getArtworkId(), ledger.total(), ledger);
+    }
+    
+    /**
+     * 1단계: Exhibition API에서 artwork 정보 가져오기 (image_url 포함)
+     */
+    private ExternalArtworkResponse fetchArtwork(PhotocardCreateRequest request) {
+        ExternalArtworkResponse artwork = externalApiService.getArtworkById(request.getArtworkId());
+        if (artwork == null) {
+            throw new RuntimeException("작품을 찾을 수 없습니다: " + request.getArtworkId());
+        }
+        log.info("작품 정보 조회 성공 - artworkId: {}, title: {}", artwork.getId(), artwork.getTitle());
+        return artwork;
+    }
+    
+    /**
+     * 3단계: 저장소에 변형 저장 후 포토카드 엔티티 생성 (DB 저장 전)
+     */
+    private Photocard store(PhotocardCreateRequest request, RenderedPhotocard rendered) {
+        // 1. 렌더링 단계에서 기록한 변형의 업로드 완료 (JPEG 인코딩은 렌더링 단계에서 끝남)
+        //    다운로드 URL 은 업로드 결과에서 바로 얻음 (존재 확인 호출 없음)
+        StoredPhotocard stored = rendered.upload().commit();
+        log.info("포토카드 이미지 업로드 완료 - artworkId: {}, fileId: {}", request.getArtworkId(), stored.fileId());
+        
+        // 2. 포토카드 엔티티 생성
+        return Photocard.builder()
+                .artworkId(request.getArtworkId())
+                .downloadUrl(stored.downloadUrl())
+                .build();
+    }
+    
+    /**
+     * 4단계: 데이터베이스 저장 (커넥션은 이 INSERT 동안만 사용)
+     */
+    private PhotocardResponse save(Photocard photocard) {
+        Photocard savedPhotocard = connectionHoldRecorder.within("PhotocardCreationPipeline.store",
+                () -> photocardRepository.save(photocard));
+        photocardNearCache.saved(savedPhotocard);
+        log.info("포토카드 생성 완료 - id: {}, downloadUrl: {}", savedPhotocard.getId(), savedPhotocard.getDownloadUrl());
+        
+        return PhotocardResponse.from(savedPhotocard);
+    }
+    
+    private record RenderedPhotocard(ExternalArtworkResponse artwork, PhotocardUpload upload) {
+    }
+}
@@ -1,24 +1,32 @@
 package com.photocard.service;
 
+import com.photocard.exception.PhotocardImageNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class PhotocardFileService {
+public class PhotocardFileService implements PhotocardStorage {
+    
+    private final JpegEncoder jpegEncoder;
     
     @Value("${file.upload-dir}")
     private String uploadDir;
@@ -26,14 +34,18 @@ public class PhotocardFileService {
     @Value("${file.base-url}")
     private String fileBaseUrl;
     
+    @Override
+    public String name() {
+        return "local";
+    }
+    
     /**
      * 포토카드 이미지 저장
      */
-    public String savePhotocardImage(byte[] imageData) {
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData) {
         try {
-            // 파일 ID 생성
-            String fileId = UUID.randomUUID().toString();
-            String fileName = "photocard_" + fileId + ".jpg";
+            String fileName = variant.fileName(fileId);
             
             // 저장 경로 생성
             Path uploadPath = Paths.get(uploadDir);
@@ -45,7 +57,7 @@ public class PhotocardFileService {
             Files.write(filePath, imageData);
             
             log.info("포토카드 이미지 저장 완료 - fileId: {}, size: {} bytes", fileId, imageData.length);
-            return fileId;
+            return new StoredPhotocard(fileId, generateDownloadUrl(fileId));
             
         } catch (IOException e) {
             log.error("포토카드 이미지 저장 실패", e);
@@ -54,19 +66,121 @@ public class PhotocardFileService {
     }
     
     /**
-     * 포토카드 이미지 로드
+     * 이미지 스트림을 파일에 바로 기록
      */
-    public Resource loadPhotocardImage(String fileId) {
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, InputStream imageData, long length) {
+        Path filePath = null;
         try {
-            String fileName = "photocard_" + fileId + ".jpg";
+            Path uploadPath = Paths.get(uploadDir);
+            if (!Files.exists(uploadPath)) {
+                Files.createDirectories(uploadPath);
+            }
+            
+            filePath = uploadPath.resolve(variant.fileName(fileId));
+            long size = Files.copy(imageData, filePath, StandardCopyOption.REPLACE_EXISTING);
+            
+            log.info("포토카드 이미지 저장 완료 - fileId: {}, variant: {}, size: {} bytes", fileId, variant, size);
+            return new StoredPhotocard(fileId, generateDownloadUrl(fileId));
+            
+        } catch (IOException e) {
+            log.error("포토카드 이미지 저장 실패", e);
+            deleteQuietly(filePath);
+            throw new RuntimeException("파일 저장에 실패했습니다: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 포토카드 이미지 변형(썸네일/미리보기/원본)을 같은 fileId 로 저장 시작
+     * write 는 JPEG 로 인코딩하면서 임시 파일에 바로 기록 (byte[] 중간 복사 없음), commit 에서 제자리로 이동
+     */
+    @Override
+    public PhotocardUpload beginPhotocardImages(String fileId) {
+        return new LocalPhotocardUpload(fileId);
+    }
+    
+    /**
+     * 같은 디렉터리의 임시 파일에 변형을 기록하는 업로드 (완성되지 않은 파일이 제자리에 보이지 않음)
+     */
+    private class LocalPhotocardUpload implements PhotocardUpload {
+        
+        private final String fileId;
+        private final Map<PhotocardVariant, Path> tempFiles = new EnumMap<>(PhotocardVariant.class);
+        
+        private LocalPhotocardUpload(String fileId) {
+            this.fileId = fileId;
+        }
+        
+        @Override
+        public void write(PhotocardVariant variant, BufferedImage image) throws IOException {
+            // 저장 경로 생성
+            Path uploadPath = Paths.get(uploadDir);
+            if (!Files.exists(uploadPath)) {
+                Files.createDirectories(uploadPath);
+            }
+            
+            Path tempFile = Files.createTempFile(uploadPath, variant.fileName(fileId), ".tmp");
+            tempFiles.put(variant, tempFile);
+            long size;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                size = jpegEncoder.encode(image, out);
+            }
+            log.debug("포토카드 이미지 인코딩 완료 - fileId: {}, variant: {}, size: {} bytes", fileId, variant, size);
+        }
+        
+        @Override
+        public StoredPhotocard commit() {
+            try {
+                for (Map.Entry<PhotocardVariant, Path> entry : tempFiles.entrySet()) {
+                    Path filePath = entry.getValue().resolveSibling(entry.getKey().fileName(fileId));
+                    Files.move(entry.getValue(), filePath, StandardCopyOption.REPLACE_EXISTING);
+                    log.info("포토카드 이미지 저장 완료 - fileId: {}, variant: {}", fileId, entry.getKey());
+                }
+                tempFiles.clear();
+                return new StoredPhotocard(fileId, generateDownloadUrl(fileId));
+                
+            } catch (IOException e) {
+                log.error("포토카드 이미지 저장 실패", e);
+                abort();
+                throw new RuntimeException("파일 저장에 실패했습니다: " + e.getMessage());
+            }
+        }
+        
+        @Override
+        public void abort() {
+            tempFiles.values().forEach(PhotocardFileService.this::deleteQuietly);
+            tempFiles.clear();
+        }
+    }
+    
+    private void deleteQuietly(Path filePath) {
+        if (filePath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            log.warn("불완전한 파일 삭제 실패 - path: {}", filePath);
+        }
+    }
+    
+    /**
+     * 포토카드 이미지 변형 로드
+     */
+    @Override
+    public Resource loadPhotocardImage(String fileId, PhotocardVariant variant) {
+        try {
+            String fileName = variant.fileName(fileId);
             Path filePath = Paths.get(uploadDir).resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
+            Resource resource = new FileSystemResource(filePath);
             
             if (resource.exists()) {
                 return resource;
             } else {
-                throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
+                throw new PhotocardImageNotFoundException(fileName);
             }
+        } catch (PhotocardImageNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             log.error("포토카드 이미지 로드 실패 - fileId: {}", fileId, e);
             throw new RuntimeException("파일 로드에 실패했습니다: " + e.getMessage());
@@ -76,11 +190,12 @@ public class PhotocardFileService {
     /**
      * 포토카드 이미지 삭제
      */
+    @Override
     public void deletePhotocardImage(String fileId) {
         try {
-            String fileName = "photocard_" + fileId + ".jpg";
-            Path filePath = Paths.get(uploadDir).resolve(fileName);
-            Files.deleteIfExists(filePath);
+            for (PhotocardVariant variant : PhotocardVariant.values()) {
+                Files.deleteIfExists(Paths.get(uploadDir).resolve(variant.fileName(fileId)));
+            }
             log.info("포토카드 이미지 삭제 완료 - fileId: {}", fileId);
         } catch (IOException e) {
             log.error("포토카드 이미지 삭제 실패 - fileId: {}", fileId, e);
@@ -90,6 +205,7 @@ public class PhotocardFileService {
     /**
      * 다운로드 URL 생성
      */
+    @Override
     public String generateDownloadUrl(String fileId) {
         return fileBaseUrl + "/api/photocards/" + fileId + "/download";
     }
@@ -97,6 +213,7 @@ public class PhotocardFileService {
     /**
      * 미리보기 URL 생성
      */
+    @Override
     public String generatePreviewUrl(String fileId) {
         return fileBaseUrl + "/api/photocards/" + fileId + "/preview";
     }
@@ -0,0 +1,154 @@
+package com.photocard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.photocard.dto.PhotocardCreateRequest;
+import com.photocard.dto.PhotocardJobResponse;
+import com.photocard.dto.PhotocardJobStatus;
+import com.photocard.dto.PhotocardResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 비동기 포토카드 생성 작업 관리
+ * - 작업은 메모리에 보관 (완료 후 설정된 시간이 지나면 만료, 진행 중인 작업은 만료되지 않고 max-size 로만 제한)
+ * - 상태 조회와 완료 대기(long-poll)를 지원
+ */
+@Service
+@Slf4j
+public class PhotocardJobService {
+    
+    private final PhotocardCreationPipeline pipeline;
+    private final Duration retention;
+    private final Cache<String, PhotocardJob> jobs;
+    
+    public PhotocardJobService(PhotocardCreationPipeline pipeline,
+                               @Value("${photocard.jobs.retention:1h}") Duration retention,
+                               @Value("${photocard.jobs.max-size:10000}") long maxSize) {
+        this.pipeline = pipeline;
+        this.retention = retention;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, PhotocardJob>() {
+                    @Override
+                    public long expireAfterCreate(String jobId, PhotocardJob job, long currentTime) {
+                        return job.isDone() ? retention.toNanos() : Long.MAX_VALUE;
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String jobId, PhotocardJob job, long currentTime, long currentDuration) {
+                        return expireAfterCreate(jobId, job, currentTime);
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String jobId, PhotocardJob job, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .maximumSize(maxSize)
+                .build();
+    }
+    
+    /**
+     * 포토카드 생성 작업 등록 (즉시 반환)
+     */
+    public PhotocardJobResponse submit(PhotocardCreateRequest request) {
+        PhotocardJob job = new PhotocardJob(UUID.randomUUID().toString(), request.getArtworkId());
+        
+        // 파이프라인 큐가 가득 차면 RenderQueueFullException 이 그대로 전파되며 작업은 등록되지 않음
+        job.future = pipeline.run(request, job::updateStatus)
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        job.complete(response);
+                        log.info("포토카드 생성 작업 완료 - jobId: {}, photocardId: {}", job.id, response.getId());
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        job.fail(cause.getMessage());
+                        log.error("포토카드 생성 작업 실패 - jobId: {}", job.id, cause);
+                    }
+                    // 보관 시간은 완료 시점부터 (등록 전에 끝났으면 등록 시 expireAfterCreate 가 적용)
+                    jobs.policy().expireVariably().ifPresent(expiry -> expiry.setExpiresAfter(job.id, retention));
+                });
+        jobs.put(job.id, job);
+        
+        log.info("포토카드 생성 작업 등록 - jobId: {}, artworkId: {}", job.id, request.getArtworkId());
+        return job.toResponse();
+    }
+    
+    /**
+     * 작업 상태 조회
+     */
+    public Optional<PhotocardJobResponse> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(PhotocardJob::toResponse);
+    }
+    
+    /**
+     * 작업 완료 시점 (이미 완료되었으면 즉시 완료된 future)
+     */
+    public Optional<CompletableFuture<PhotocardJobResponse>> whenDone(String jobId) {
+        PhotocardJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        return Optional.of(job.future.handle((response, error) -> job.toResponse()));
+    }
+    
+    /**
+     * 메모리에 보관되는 작업 상태
+     */
+    private static final class PhotocardJob {
+        private final String id;
+        private final Long artworkId;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile PhotocardJobStatus status = PhotocardJobStatus.QUEUED;
+        private volatile PhotocardResponse photocard;
+        private volatile String errorMessage;
+        private volatile LocalDateTime updatedAt = createdAt;
+        private volatile CompletableFuture<PhotocardResponse> future;
+        
+        private PhotocardJob(String id, Long artworkId) {
+            this.id = id;
+            this.artworkId = artworkId;
+        }
+        
+        private void updateStatus(PhotocardJobStatus status) {
+            this.status = status;
+            this.updatedAt = LocalDateTime.now();
+        }
+        
+        private void complete(PhotocardResponse photocard) {
+            this.photocard = photocard;
+            updateStatus(PhotocardJobStatus.COMPLETED);
+        }
+        
+        private void fail(String errorMessage) {
+            this.errorMessage = errorMessage;
+            updateStatus(PhotocardJobStatus.FAILED);
+        }
+        
+        private boolean isDone() {
+            return status == PhotocardJobStatus.COMPLETED || status == PhotocardJobStatus.FAILED;
+        }
+        
+        private PhotocardJobResponse toResponse() {
+            return PhotocardJobResponse.builder()
+                    .jobId(id)
+                    .artworkId(artworkId)
+                    .status(status)
+                    .photocard(photocard)
+                    .errorMessage(errorMessage)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.photocard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.photocard.dto.PhotocardResponse;
+import com.photocard.entity.Photocard;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 포토카드 조회 near cache (인스턴스 내 메모리)
+ * - artworkId → 대표 포토카드 (작품 선택), id → 포토카드 (Chat-Orchestra 상태 조회)
+ * - 포토카드는 생성 후 바뀌지 않으므로 저장/삭제 시에만 무효화
+ * - 다른 인스턴스의 삭제는 알 수 없으므로 expire-after-write 로 보관 기간을 제한
+ * - 있는 결과만 캐시 (없음은 곧 생성될 수 있으므로 캐시하지 않음)
+ * 캐시된 응답은 여러 요청이 공유하므로 읽기 전용으로만 사용해야 함
+ */
+@Component
+@Slf4j
+public class PhotocardNearCache {
+    
+    private final Cache<Long, PhotocardResponse> byArtwork;
+    private final Cache<Long, PhotocardResponse> byId;
+    
+    public PhotocardNearCache(MeterRegistry meterRegistry,
+                              @Value("${photocard.near-cache.max-size:10000}") long maxSize,
+                              @Value("${photocard.near-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.byArtwork = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        
+        // hit/miss 지표: cache.gets{cache=photocardsByArtwork|photocardsById}
+        CaffeineCacheMetrics.monitor(meterRegistry, byArtwork, "photocardsByArtwork");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "photocardsById");
+        
+        log.info("포토카드 near cache 초기화 - maxSize: {}, expireAfterWrite: {}", maxSize, expireAfterWrite);
+    }
+    
+    /**
+     * 작품의 대표 포토카드 조회, 없으면 loader 로 조회 후 캐시
+     * loader(DB 조회)는 캐시 내부 락 밖에서 실행
+     */
+    public Optional<PhotocardResponse> getByArtworkId(Long artworkId, Supplier<Optional<PhotocardResponse>> loader) {
+        PhotocardResponse cached = byArtwork.getIfPresent(artworkId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        Optional<PhotocardResponse> loaded = loader.get();
+        loaded.ifPresent(photocard -> {
+            byArtwork.put(artworkId, photocard);
+            byId.put(photocard.getId(), photocard);
+        });
+        return loaded;
+    }
+    
+    /**
+     * 포토카드 조회, 없으면 loader 로 조회 후 캐시
+     */
+    public Optional<PhotocardResponse> getById(Long id, Supplier<Optional<PhotocardResponse>> loader) {
+        PhotocardResponse cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        Optional<PhotocardResponse> loaded = loader.get();
+        loaded.ifPresent(photocard -> byId.put(id, photocard));
+        return loaded;
+    }
+    
+    /**
+     * 포토카드 저장 시 호출 (작품의 대표 포토카드가 바뀌었을 수 있음)
+     */
+    public void saved(Photocard photocard) {
+        byArtwork.invalidate(photocard.getArtworkId());
+        byId.invalidate(photocard.getId());
+    }
+    
+    /**
+     * 포토카드 삭제 시 호출
+     */
+    public void deleted(Long artworkId, Long id) {
+        byArtwork.invalidate(artworkId);
+        byId.invalidate(id);
+    }
+}
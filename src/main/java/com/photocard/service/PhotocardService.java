@@ -1,92 +1,202 @@
 package com.photocard.service;
 
 import com.photocard.dto.ExternalArtworkResponse;
+import com.photocard.dto.PhotocardBatchResponse;
 import com.photocard.dto.PhotocardCreateRequest;
+import com.photocard.dto.PhotocardCursor;
+import com.photocard.dto.PhotocardPage;
 import com.photocard.dto.PhotocardResponse;
 import com.photocard.entity.ArtworkSelection;
 import com.photocard.entity.Photocard;
+import com.photocard.exception.PhotocardUploadRejectedException;
+import com.photocard.exception.RenderQueueFullException;
+import com.photocard.repository.ArtworkPhotocardRepository;
 import com.photocard.repository.ArtworkSelectionRepository;
 import com.photocard.repository.PhotocardRepository;
 import com.photocard.service.MetadataCombinationService.PhotocardMetadata;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * 포토카드 서비스
+ * 클래스 전체에 트랜잭션을 두지 않음: 생성은 외부 호출/렌더링/업로드 동안 커넥션을 붙잡지 않고
+ * 마지막 INSERT(저장소 메서드 자체 트랜잭션)에서만 커넥션을 사용
+ * 조회 중 여러 행을 일관되게 읽어야 하는 메서드만 읽기 전용 트랜잭션 사용
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class PhotocardService {
     
     private final PhotocardRepository photocardRepository;
     private final ArtworkSelectionRepository artworkSelectionRepository;
+    private final ArtworkPhotocardRepository artworkPhotocardRepository;
     private final ExternalApiService externalApiService;
     private final MetadataCombinationService metadataCombinationService;
-    private final AzureStorageService azureStorageService;
+    private final PhotocardStorage photocardStorage;
     private final ImageProcessingService imageProcessingService;
+    private final PhotocardCreationPipeline photocardCreationPipeline;
+    private final ImageUploadInspector imageUploadInspector;
+    private final ArtworkSelectionCoalescer artworkSelectionCoalescer;
+    private final ArtworkSelectionRecorder artworkSelectionRecorder;
+    private final PhotocardNearCache photocardNearCache;
+    private final ConnectionHoldRecorder connectionHoldRecorder;
+    private final JdbcTemplate jdbcTemplate;
     
     /**
-     * 포토카드 생성
+     * 포토카드 생성 (동기)
+     * 생성 파이프라인 완료까지 대기하는 얇은 래퍼 (비동기 생성은 PhotocardJobService 사용)
+     * 호출자의 트랜잭션을 잠시 멈춤: 커넥션을 쥔 채 join 하면 파이프라인의 INSERT 가 풀을 기다리며 교착될 수 있음
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PhotocardResponse createPhotocard(PhotocardCreateRequest request) {
         log.info("포토카드 생성 시작 - artworkId: {}", request.getArtworkId());
         
         try {
-            // 1. Exhibition API에서 artwork 정보 가져오기 (image_url 포함)
-            ExternalArtworkResponse artwork = externalApiService.getArtworkById(request.getArtworkId());
-            if (artwork == null) {
-                throw new RuntimeException("작품을 찾을 수 없습니다: " + request.getArtworkId());
+            return photocardCreationPipeline.run(request, status -> { }).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RenderQueueFullException renderQueueFull) {
+                throw renderQueueFull;
             }
-            
-            log.info("작품 정보 조회 성공 - artworkId: {}, title: {}", artwork.getId(), artwork.getTitle());
-            
-            // 2. 작품 사진으로 포토카드 생성
-            PhotocardResponse response = createPhotocardWithArtwork(request, artwork);
-            
-            return response;
-        } catch (Exception e) {
-            log.error("포토카드 생성 중 오류 발생 - artworkId: {}", request.getArtworkId(), e);
-            throw new RuntimeException("포토카드 생성에 실패했습니다: " + e.getMessage());
+            log.error("포토카드 생성 중 오류 발생 - artworkId: {}", request.getArtworkId(), cause);
+            throw new RuntimeException("포토카드 생성에 실패했습니다: " + cause.getMessage());
         }
     }
     
     /**
-     * 작품 사진으로 포토카드 생성
+     * 포토카드 일괄 생성 (투어 단위 등)
+     * 1. 작품별 파이프라인(조회 → 렌더링 → 업로드)을 동시에 실행
+     * 2. 업로드까지 성공한 포토카드를 다중 행 INSERT 한 번으로 저장
+     * 일부가 실패해도 나머지는 저장하고 작품별 결과로 알림
      */
-    private PhotocardResponse createPhotocardWithArtwork(PhotocardCreateRequest request, 
-                                                         ExternalArtworkResponse artwork) {
-        try {
-            log.info("작품 사진으로 포토카드 생성 시작 - artworkId: {}", request.getArtworkId());
-            
-            // 1. 작품 사진으로 포토카드 이미지 생성
-            byte[] photocardImage = imageProcessingService.generatePhotocardImage(artwork, null);
-            
-            // 2. Azure Storage에 파일 저장
-            String fileId = azureStorageService.savePhotocardImage(photocardImage);
-            
-            // 3. 포토카드 엔티티 생성
-            Photocard photocard = Photocard.builder()
-                    .artworkId(request.getArtworkId())
-                    .downloadUrl(azureStorageService.generateDownloadUrl(fileId))
+    public PhotocardBatchResponse createPhotocards(List<Long> artworkIds) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(artworkIds));
+        log.info("포토카드 일괄 생성 시작 - artworkIds: {}", distinctIds);
+        
+        // 1. 작품별 파이프라인 동시 실행 (큐가 가득 차 거절된 작품은 해당 항목만 실패)
+        Map<Long, CompletableFuture<Photocard>> prepared = new LinkedHashMap<>();
+        for (Long artworkId : distinctIds) {
+            PhotocardCreateRequest request = PhotocardCreateRequest.builder()
+                    .artworkId(artworkId)
                     .build();
-            
-            // 4. 데이터베이스 저장
-            Photocard savedPhotocard = photocardRepository.save(photocard);
-            
-            log.info("포토카드 생성 완료 - id: {}, fileId: {}", savedPhotocard.getId(), fileId);
-            
-            return PhotocardResponse.from(savedPhotocard);
-            
-        } catch (Exception e) {
-            log.error("포토카드 생성 실패", e);
-            throw new RuntimeException("포토카드 생성에 실패했습니다: " + e.getMessage());
+            try {
+                prepared.put(artworkId, photocardCreationPipeline.prepare(request, status -> { }));
+            } catch (RenderQueueFullException e) {
+                prepared.put(artworkId, CompletableFuture.failedFuture(e));
+            }
+        }
+        CompletableFuture.allOf(prepared.values().toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .join();
+        
+        // 2. 업로드 성공한 포토카드만 한 번에 저장
+        Map<Long, String> errors = new LinkedHashMap<>();
+        List<Photocard> uploaded = new ArrayList<>();
+        prepared.forEach((artworkId, future) -> {
+            try {
+                uploaded.add(future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("포토카드 일괄 생성 중 작품 실패 - artworkId: {}, 오류: {}", artworkId, cause.getMessage());
+                errors.put(artworkId, cause.getMessage());
+            }
+        });
+        
+        Map<Long, PhotocardResponse> created = new LinkedHashMap<>();
+        if (!uploaded.isEmpty()) {
+            try {
+                List<Photocard> saved = connectionHoldRecorder.within("PhotocardService.createPhotocards",
+                        () -> insertAll(uploaded));
+                for (Photocard photocard : saved) {
+                    photocardNearCache.saved(photocard);
+                    created.put(photocard.getArtworkId(), PhotocardResponse.from(photocard));
+                }
+            } catch (Exception e) {
+                // 업로드된 blob 은 참조하는 행이 없으므로 고아 blob 정리에서 삭제됨
+                log.error("포토카드 일괄 저장 실패 - count: {}", uploaded.size(), e);
+                uploaded.forEach(photocard -> errors.put(photocard.getArtworkId(), "데이터베이스 저장 실패: " + e.getMessage()));
+            }
+        }
+        
+        List<PhotocardBatchResponse.Item> results = distinctIds.stream()
+                .map(artworkId -> PhotocardBatchResponse.Item.builder()
+                        .artworkId(artworkId)
+                        .photocard(created.get(artworkId))
+                        .errorMessage(errors.get(artworkId))
+                        .build())
+                .toList();
+        log.info("포토카드 일괄 생성 완료 - succeeded: {}, failed: {}", created.size(), errors.size());
+        
+        return PhotocardBatchResponse.builder()
+                .succeeded(created.size())
+                .failed(errors.size())
+                .results(results)
+                .build();
+    }
+    
+    /**
+     * 포토카드 여러 건을 다중 행 INSERT 한 번으로 저장
+     * id 는 IDENTITY 그대로 사용: MySQL 은 한 문장에서 연속된 AUTO_INCREMENT 값을 할당하고
+     * 드라이버가 행 순서대로 생성된 키를 돌려주므로 saveAll 처럼 행마다 INSERT 하지 않음
+     */
+    private List<Photocard> insertAll(List<Photocard> photocards) {
+        StringBuilder sql = new StringBuilder("INSERT INTO photocards (artwork_id, download_url, created_at) VALUES ");
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < photocards.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
         }
+        
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS);
+            int index = 1;
+            for (Photocard photocard : photocards) {
+                statement.setLong(index++, photocard.getArtworkId());
+                statement.setString(index++, photocard.getDownloadUrl());
+                statement.setTimestamp(index++, createdAt);
+            }
+            return statement;
+        }, keyHolder);
+        
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != photocards.size()) {
+            throw new IllegalStateException("생성된 키 수가 행 수와 다릅니다: " + keys.size() + " / " + photocards.size());
+        }
+        for (int i = 0; i < photocards.size(); i++) {
+            Photocard photocard = photocards.get(i);
+            photocard.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            photocard.setCreatedAt(createdAt.toLocalDateTime());
+        }
+        return photocards;
     }
     
     /**
@@ -98,24 +208,29 @@ public class PhotocardService {
         try {
             log.info("작품 사진 + 엔딩크레딧 조합 포토카드 생성 시작 - artworkId: {}", request.getArtworkId());
             
-            // 1. 작품 사진 + 엔딩크레딧으로 포토카드 이미지 생성
-            byte[] photocardImage = imageProcessingService.generatePhotocardImage(artwork, endingCredit);
+            // 1. 작품 사진 + 엔딩크레딧으로 포토카드 이미지 렌더링 (변형 함께 생성)
+            PhotocardUpload upload = photocardStorage.beginPhotocardImages();
+            imageProcessingService.renderPhotocard(artwork, endingCredit, upload);
             
-            // 2. Azure Storage에 파일 저장
-            String fileId = azureStorageService.savePhotocardImage(photocardImage);
+            // 2. 저장소에 파일 저장 완료 (JPEG 인코딩은 렌더링과 함께 수행)
+            StoredPhotocard stored = upload.commit();
+            String fileId = stored.fileId();
             
             // 3. 포토카드 엔티티 생성
             Photocard photocard = Photocard.builder()
                     .artworkId(request.getArtworkId())
-                    .downloadUrl(azureStorageService.generateDownloadUrl(fileId))
+                    .downloadUrl(stored.downloadUrl())
                     .build();
             
             Photocard savedPhotocard = photocardRepository.save(photocard);
-            log.info("작품 사진 + 엔딩크레딧 조합 포토카드 생성 완료 - id: {}, fileId: {}, size: {} bytes", 
-                    savedPhotocard.getId(), fileId, photocardImage.length);
+            photocardNearCache.saved(savedPhotocard);
+            log.info("작품 사진 + 엔딩크레딧 조합 포토카드 생성 완료 - id: {}, fileId: {}", 
+                    savedPhotocard.getId(), fileId);
             
             return PhotocardResponse.from(savedPhotocard);
                     
+        } catch (RenderQueueFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("작품 사진 + 엔딩크레딧 조합 포토카드 생성 실패 - artworkId: {}", request.getArtworkId(), e);
             throw new RuntimeException("포토카드 생성에 실패했습니다: " + e.getMessage());
@@ -132,21 +247,25 @@ public class PhotocardService {
             // 1. 기본 템플릿으로 포토카드 이미지 생성
             byte[] photocardImage = imageProcessingService.generateSimplePhotocardImage(artwork);
             
-            // 2. Azure Storage에 파일 저장
-            String fileId = azureStorageService.savePhotocardImage(photocardImage);
+            // 2. 저장소에 파일 저장
+            StoredPhotocard stored = photocardStorage.savePhotocardImage(photocardImage);
+            String fileId = stored.fileId();
             
             // 3. 포토카드 엔티티 생성
             Photocard photocard = Photocard.builder()
                     .artworkId(request.getArtworkId())
-                    .downloadUrl(azureStorageService.generateDownloadUrl(fileId))
+                    .downloadUrl(stored.downloadUrl())
                     .build();
             
             Photocard savedPhotocard = photocardRepository.save(photocard);
+            photocardNearCache.saved(savedPhotocard);
             log.info("간단한 포토카드 생성 완료 - id: {}, fileId: {}, size: {} bytes", 
                     savedPhotocard.getId(), fileId, photocardImage.length);
             
             return PhotocardResponse.from(savedPhotocard);
                     
+        } catch (RenderQueueFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("간단한 포토카드 생성 실패 - artworkId: {}", request.getArtworkId(), e);
             throw new RuntimeException("포토카드 생성에 실패했습니다: " + e.getMessage());
@@ -156,84 +275,173 @@ public class PhotocardService {
     /**
      * 포토카드 조회
      */
-    @Transactional(readOnly = true)
     public PhotocardResponse getPhotocardById(Long id) {
-        Photocard photocard = photocardRepository.findById(id)
+        // near cache 적중 시 커넥션 없이 응답
+        return photocardNearCache.getById(id, () -> connectionHoldRecorder.within("PhotocardService.getPhotocardById",
+                        () -> photocardRepository.findById(id).map(PhotocardResponse::from)))
                 .orElseThrow(() -> new RuntimeException("포토카드를 찾을 수 없습니다: " + id));
+    }
+    
+    /**
+     * 작품별 포토카드 목록 한 페이지 조회 (keyset, created_at + id 순)
+     * limit + 1 건을 읽어 다음 페이지가 있는지 판단
+     */
+    @Transactional(readOnly = true)
+    public PhotocardPage getPhotocardPage(Long artworkId, PhotocardCursor after, int limit) {
+        Pageable page = PageRequest.ofSize(limit + 1);
+        List<PhotocardResponse> rows = after == null
+                ? photocardRepository.findPageByArtworkId(artworkId, page)
+                : photocardRepository.findPageByArtworkIdAfter(artworkId, after.createdAt(), after.id(), page);
         
-        return PhotocardResponse.from(photocard);
+        if (rows.size() <= limit) {
+            return new PhotocardPage(rows, null);
+        }
+        List<PhotocardResponse> items = rows.subList(0, limit);
+        return new PhotocardPage(items, PhotocardCursor.after(items.get(limit - 1)));
     }
     
     /**
-     * 세션별 포토카드 목록 조회
+     * 작품별 포토카드 전체를 DB 에서 읽는 대로 sink 로 전달 (목록을 메모리에 모으지 않음)
+     * 스트림이 끝날 때까지 커넥션 1개를 사용
      */
     @Transactional(readOnly = true)
-    public List<PhotocardResponse> getPhotocardsByArtworkId(Long artworkId) {
-        List<Photocard> photocards = photocardRepository.findByArtworkId(artworkId);
-        return photocards.stream()
-                .map(PhotocardResponse::from)
-                .collect(Collectors.toList());
+    public long streamPhotocardsByArtworkId(Long artworkId, Consumer<PhotocardResponse> sink) {
+        try (Stream<PhotocardResponse> photocards = photocardRepository.streamByArtworkId(artworkId)) {
+            long[] count = {0};
+            photocards.forEach(photocard -> {
+                sink.accept(photocard);
+                count[0]++;
+            });
+            return count[0];
+        }
     }
     
     /**
      * 작품 선택 처리 (Chat-Orchestra에서 호출)
+     * 같은 작품을 동시에 선택해도 포토카드는 한 번만 생성
+     * - 인스턴스 안: ArtworkSelectionCoalescer 로 진행 중인 생성 결과를 공유
+     * - 인스턴스 사이: artwork_photocards 기본 키로 먼저 등록한 포토카드를 대표로 사용
+     * 트랜잭션 없이 실행하므로 기다리는 요청이 DB 커넥션을 붙잡지 않음
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PhotocardResponse selectArtwork(Long artworkId) {
         log.info("작품 선택 처리 - artworkId: {}", artworkId);
         
         // 1. 이미 해당 작품으로 포토카드가 생성되었는지 확인
-        return photocardRepository.findByArtworkId(artworkId)
-                .stream()
-                .findFirst()
-                .map(PhotocardResponse::from)
-                .orElseGet(() -> {
-                    // 2. 새로운 포토카드 생성
-                    PhotocardCreateRequest request = PhotocardCreateRequest.builder()
-                            .artworkId(artworkId)
-                            .build();
-                    return createPhotocard(request);
-                });
+        PhotocardResponse selected = findSelectedPhotocard(artworkId)
+                .orElseGet(() -> artworkSelectionCoalescer.coalesce(artworkId,
+                        // 2. 앞선 생성이 막 끝났을 수 있으므로 다시 확인 후 새로운 포토카드 생성
+                        () -> findSelectedPhotocard(artworkId)
+                                .orElseGet(() -> createSelectedPhotocard(artworkId))));
+        
+        // 3. 성공한 선택만 기록: 큐에 넣고 바로 반환 (DB 기록은 ArtworkSelectionRecorder 가 모아서 수행)
+        artworkSelectionRecorder.record(artworkId);
+        return selected;
+    }
+    
+    /**
+     * 작품의 대표 포토카드 조회 (대표 등록 전에 생성된 포토카드도 사용)
+     * near cache 적중 시 DB 조회 없음
+     */
+    private Optional<PhotocardResponse> findSelectedPhotocard(Long artworkId) {
+        return photocardNearCache.getByArtworkId(artworkId, () -> connectionHoldRecorder.within("PhotocardService.selectArtwork",
+                () -> artworkPhotocardRepository.findById(artworkId)
+                        .flatMap(selected -> photocardRepository.findById(selected.getPhotocardId()))
+                        .or(() -> photocardRepository.findFirstByArtworkIdOrderByIdAsc(artworkId))
+                        .map(PhotocardResponse::from)));
+    }
+    
+    /**
+     * 포토카드 생성 후 작품의 대표로 등록
+     * 다른 인스턴스가 먼저 등록했으면 그 포토카드를 반환하고 방금 만든 행은 삭제
+     * (blob 은 내용 주소 모드에서 공유될 수 있으므로 지우지 않고 고아 blob 정리에 맡김)
+     */
+    private PhotocardResponse createSelectedPhotocard(Long artworkId) {
+        PhotocardCreateRequest request = PhotocardCreateRequest.builder()
+                .artworkId(artworkId)
+                .build();
+        PhotocardResponse created = createPhotocard(request);
+        
+        try {
+            connectionHoldRecorder.within("PhotocardService.selectArtwork",
+                    () -> artworkPhotocardRepository.insert(artworkId, created.getId()));
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            Optional<PhotocardResponse> winner = artworkPhotocardRepository.findById(artworkId)
+                    .flatMap(selected -> photocardRepository.findById(selected.getPhotocardId()))
+                    .map(PhotocardResponse::from);
+            if (winner.isEmpty()) {
+                // 대표로 등록된 포토카드가 삭제된 경우: 방금 만든 포토카드로 응답
+                return created;
+            }
+            artworkSelectionCoalescer.recordDuplicate(artworkId);
+            photocardRepository.deleteById(created.getId());
+            photocardNearCache.deleted(artworkId, created.getId());
+            return winner.get();
+        }
     }
     
     
     /**
      * MultipartFile로 실제 포토카드 생성
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PhotocardResponse createPhotocardWithFile(MultipartFile file, Long artworkId) {
         log.info("MultipartFile로 포토카드 생성 시작 - fileName: {}, size: {}, artworkId: {}", 
                 file.getOriginalFilename(), file.getSize(), artworkId);
         
+        // MultipartFile 은 컨테이너가 임시 파일에 받아 두므로 byte[] 로 옮기지 않고 스트림으로 전달
+        try (InputStream in = file.getInputStream()) {
+            return createPhotocardFromStream(in, file.getSize(), artworkId);
+        } catch (IOException e) {
+            log.error("MultipartFile 포토카드 생성 실패", e);
+            throw new RuntimeException("MultipartFile 포토카드 생성에 실패했습니다: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 업로드 스트림으로 포토카드 생성
+     * 길이와 헤더만 먼저 검사하고, 본문은 메모리에 모으지 않고 저장소로 바로 흘려 보냄
+     */
+    public PhotocardResponse createPhotocardFromStream(InputStream imageData, long length, Long artworkId) {
+        imageUploadInspector.checkLength(length);
+        
         try {
-            // 1. MultipartFile에서 바이트 배열 추출
-            byte[] imageBytes = file.getBytes();
+            // 1. 헤더 검사 (JPEG 여부, 가로/세로 상한)
+            InputStream inspected = imageUploadInspector.inspect(imageData);
             
-            // 2. Azure Storage에 파일 저장
-            String fileId = azureStorageService.savePhotocardImage(imageBytes);
+            // 2. 저장소에 스트림 그대로 저장
+            StoredPhotocard stored = photocardStorage.savePhotocardImage(inspected, length);
+            String fileId = stored.fileId();
             
             // 3. 포토카드 엔티티 생성 (데이터베이스 저장 없이)
             Photocard photocard = Photocard.builder()
                     .artworkId(artworkId)
-                    .downloadUrl(azureStorageService.generateDownloadUrl(fileId))
+                    .downloadUrl(stored.downloadUrl())
                     .build();
             
             // 4. 데이터베이스 저장 시도 (실패해도 계속 진행)
             try {
-                Photocard savedPhotocard = photocardRepository.save(photocard);
-                log.info("MultipartFile 포토카드 생성 완료 - id: {}, fileId: {}", savedPhotocard.getId(), fileId);
+                Photocard savedPhotocard = connectionHoldRecorder.within("PhotocardService.createPhotocardFromStream",
+                        () -> photocardRepository.save(photocard));
+                photocardNearCache.saved(savedPhotocard);
+                log.info("업로드 포토카드 생성 완료 - id: {}, fileId: {}, size: {} bytes", savedPhotocard.getId(), fileId, length);
                 return PhotocardResponse.from(savedPhotocard);
             } catch (Exception dbException) {
                 log.warn("데이터베이스 저장 실패, 파일만 저장하고 계속 진행 - fileId: {}", fileId);
                 // 데이터베이스 저장 실패해도 파일은 저장되었으므로 응답 생성
                 return PhotocardResponse.builder()
                         .id(999L) // 임시 ID
-                        .downloadUrl(azureStorageService.generateDownloadUrl(fileId))
+                        .downloadUrl(stored.downloadUrl())
                         .createdAt(java.time.LocalDateTime.now())
                         .build();
             }
                     
+        } catch (PhotocardUploadRejectedException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("MultipartFile 포토카드 생성 실패", e);
-            throw new RuntimeException("MultipartFile 포토카드 생성에 실패했습니다: " + e.getMessage());
+            log.error("업로드 포토카드 생성 실패", e);
+            throw new RuntimeException("업로드 포토카드 생성에 실패했습니다: " + e.getMessage());
         }
     }
     
@@ -248,24 +456,29 @@ public class PhotocardService {
         try {
             log.info("포토카드 렌더링 시작 - artworkId: {}", request.getArtworkId());
             
-            // 1. 포토카드 이미지 생성 (기본 템플릿 사용)
-            byte[] photocardImage = imageProcessingService.generatePhotocardImage(artwork, endingCredit);
+            // 1. 포토카드 이미지 렌더링 (기본 템플릿 사용, 변형 함께 생성)
+            PhotocardUpload upload = photocardStorage.beginPhotocardImages();
+            imageProcessingService.renderPhotocard(artwork, endingCredit, upload);
             
-            // 2. Azure Storage에 파일 저장
-            String fileId = azureStorageService.savePhotocardImage(photocardImage);
+            // 2. 저장소에 파일 저장 완료 (JPEG 인코딩은 렌더링과 함께 수행)
+            StoredPhotocard stored = upload.commit();
+            String fileId = stored.fileId();
             
             // 3. 포토카드 엔티티 생성
             Photocard photocard = Photocard.builder()
                     .artworkId(request.getArtworkId())
-                    .downloadUrl(azureStorageService.generateDownloadUrl(fileId))
+                    .downloadUrl(stored.downloadUrl())
                     .build();
             
             Photocard savedPhotocard = photocardRepository.save(photocard);
-            log.info("포토카드 생성 완료 - id: {}, fileId: {}, size: {} bytes", 
-                    savedPhotocard.getId(), fileId, photocardImage.length);
+            photocardNearCache.saved(savedPhotocard);
+            log.info("포토카드 생성 완료 - id: {}, fileId: {}", 
+                    savedPhotocard.getId(), fileId);
             
             return PhotocardResponse.from(savedPhotocard);
                     
+        } catch (RenderQueueFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("포토카드 생성 실패 - artworkId: {}", request.getArtworkId(), e);
             throw new RuntimeException("포토카드 생성에 실패했습니다: " + e.getMessage());
@@ -0,0 +1,125 @@
+package com.photocard.service;
+
+import org.springframework.core.io.Resource;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 포토카드 이미지 저장소
+ * 구현: Azure Blob Storage, 로컬 파일, 메모리(테스트/벤치마크), 계층형(여러 저장소 조합)
+ * fileId 를 지정하지 않으면 UUID, 내용 주소 모드에서는 원본 이미지의 SHA-256 (ContentAddressedPhotocardStorage)
+ * 사용할 저장소는 photocard.storage.type 으로 선택 (StorageConfig)
+ */
+public interface PhotocardStorage {
+    
+    /**
+     * 저장소 이름 (지표 태그, 계층 설정에 사용)
+     */
+    String name();
+    
+    /**
+     * 인코딩된 포토카드 이미지를 새 fileId(UUID) 로 저장 후 fileId 와 다운로드 URL 반환
+     */
+    default StoredPhotocard savePhotocardImage(byte[] imageData) {
+        return savePhotocardImage(UUID.randomUUID().toString(), imageData);
+    }
+    
+    /**
+     * 인코딩된 포토카드 원본 이미지를 지정한 fileId 로 저장 (같은 fileId 가 있으면 덮어씀)
+     */
+    default StoredPhotocard savePhotocardImage(String fileId, byte[] imageData) {
+        return savePhotocardImage(fileId, PhotocardVariant.FULL, imageData);
+    }
+    
+    /**
+     * 인코딩된 포토카드 이미지 변형 하나를 지정한 fileId 로 저장
+     */
+    StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData);
+    
+    /**
+     * 인코딩된 포토카드 이미지 스트림을 새 fileId(UUID) 로 저장 (length = 스트림 바이트 수)
+     */
+    default StoredPhotocard savePhotocardImage(InputStream imageData, long length) {
+        return savePhotocardImage(UUID.randomUUID().toString(), PhotocardVariant.FULL, imageData, length);
+    }
+    
+    /**
+     * 인코딩된 포토카드 이미지 스트림을 지정한 fileId 로 저장 (스트림은 닫지 않음)
+     * 기본 구현은 메모리로 읽어 저장, 원격/파일 저장소는 스트림을 그대로 전송해 업로드당 메모리를 일정하게 유지
+     */
+    default StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, InputStream imageData, long length) {
+        try {
+            return savePhotocardImage(fileId, variant, imageData.readAllBytes());
+        } catch (IOException e) {
+            throw new RuntimeException("파일 저장에 실패했습니다: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 포토카드 이미지 변형(썸네일/미리보기/원본)을 새 fileId(UUID) 로 저장 후 fileId 와 다운로드 URL 반환
+     */
+    default StoredPhotocard savePhotocardImages(Map<PhotocardVariant, BufferedImage> images) {
+        return PhotocardUpload.save(beginPhotocardImages(), images);
+    }
+    
+    /**
+     * 포토카드 이미지 변형을 지정한 fileId 로 저장 (같은 fileId 가 있으면 덮어씀)
+     */
+    default StoredPhotocard savePhotocardImages(String fileId, Map<PhotocardVariant, BufferedImage> images) {
+        return PhotocardUpload.save(beginPhotocardImages(fileId), images);
+    }
+    
+    /**
+     * 새 fileId(UUID) 로 변형 저장 시작 (렌더링 스레드에서 write, I/O 스레드에서 commit)
+     */
+    default PhotocardUpload beginPhotocardImages() {
+        return beginPhotocardImages(UUID.randomUUID().toString());
+    }
+    
+    /**
+     * 지정한 fileId 로 변형 저장 시작 (같은 fileId 가 있으면 commit 시 덮어씀)
+     */
+    PhotocardUpload beginPhotocardImages(String fileId);
+    
+    /**
+     * 포토카드 이미지 변형 로드
+     * 없으면 PhotocardImageNotFoundException
+     */
+    Resource loadPhotocardImage(String fileId, PhotocardVariant variant);
+    
+    /**
+     * 포토카드 원본 이미지 로드
+     */
+    default Resource loadPhotocardImage(String fileId) {
+        return loadPhotocardImage(fileId, PhotocardVariant.FULL);
+    }
+    
+    /**
+     * 포토카드 이미지(모든 변형) 삭제
+     */
+    void deletePhotocardImage(String fileId);
+    
+    /**
+     * 다운로드 URL 생성 (원격 호출 없이 계산)
+     */
+    String generateDownloadUrl(String fileId);
+    
+    /**
+     * 미리보기 URL 생성
+     */
+    String generatePreviewUrl(String fileId);
+    
+    /**
+     * 클라이언트가 저장소에서 직접 받을 수 있는 서명 URL (유효 시간 ttl, 서명은 원격 호출 없이 계산)
+     * 서명 URL 을 지원하지 않거나 이 노드에서 응답해야 하는 경우 empty
+     */
+    default Optional<String> generateSignedUrl(String fileId, PhotocardVariant variant, Duration ttl, String fileName) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,135 @@
+package com.photocard.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * 포토카드 템플릿의 정적 레이어
+ * - 배경/테두리, 더미 작품 이미지처럼 매번 같은 결과가 나오는 부분을 한 번만 래스터화
+ * - 렌더링 시에는 벡터 연산 대신 래스터 복사로 캔버스를 시작
+ * - 보관 중인 레이어는 공유되므로 절대 직접 그리지 않음 (복사본 또는 읽기 전용으로만 사용)
+ */
+@Component
+@Slf4j
+public class PhotocardTemplateLayers {
+    
+    // 기본 포토카드 크기
+    public static final int CARD_WIDTH = 800;
+    public static final int CARD_HEIGHT = 600;
+    
+    // 간단한 포토카드 크기
+    public static final int SIMPLE_CARD_WIDTH = 600;
+    public static final int SIMPLE_CARD_HEIGHT = 400;
+    
+    // 더미 작품 이미지 크기
+    public static final int PLACEHOLDER_WIDTH = 400;
+    public static final int PLACEHOLDER_HEIGHT = 300;
+    
+    private final BufferedImage standardBackground;
+    private final BufferedImage simpleBackground;
+    private final BufferedImage placeholderArtwork;
+    
+    public PhotocardTemplateLayers() {
+        this.standardBackground = createStandardBackground(CARD_WIDTH, CARD_HEIGHT);
+        this.simpleBackground = createSimpleBackground(SIMPLE_CARD_WIDTH, SIMPLE_CARD_HEIGHT);
+        this.placeholderArtwork = createPlaceholderArtwork(PLACEHOLDER_WIDTH, PLACEHOLDER_HEIGHT);
+        log.info("포토카드 템플릿 레이어 래스터화 완료");
+    }
+    
+    /**
+     * 기본 템플릿 배경이 그려진 새 캔버스
+     */
+    public BufferedImage newStandardCanvas() {
+        return copyOf(standardBackground);
+    }
+    
+    /**
+     * 간단한 템플릿 배경이 그려진 새 캔버스
+     */
+    public BufferedImage newSimpleCanvas() {
+        return copyOf(simpleBackground);
+    }
+    
+    /**
+     * 더미 작품 이미지 (공유 인스턴스, 읽기 전용)
+     */
+    public BufferedImage placeholderArtwork() {
+        return placeholderArtwork;
+    }
+    
+    /**
+     * 레이어 래스터를 그대로 복사한 새 이미지
+     */
+    private BufferedImage copyOf(BufferedImage layer) {
+        BufferedImage canvas = new BufferedImage(layer.getWidth(), layer.getHeight(), BufferedImage.TYPE_INT_RGB);
+        int[] source = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+        int[] target = ((DataBufferInt) canvas.getRaster().getDataBuffer()).getData();
+        System.arraycopy(source, 0, target, 0, source.length);
+        return canvas;
+    }
+    
+    /**
+     * 기본 템플릿 배경 (흰색 배경 + 테두리)
+     */
+    private BufferedImage createStandardBackground(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        
+        // 흰색 배경
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, width, height);
+        
+        // 테두리
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawRect(10, 10, width - 20, height - 20);
+        
+        g2d.dispose();
+        return image;
+    }
+    
+    /**
+     * 간단한 템플릿 배경 (흰색 배경)
+     */
+    private BufferedImage createSimpleBackground(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, width, height);
+        g2d.dispose();
+        return image;
+    }
+    
+    /**
+     * 더미 작품 이미지 (그라데이션 + 안내 문구)
+     */
+    private BufferedImage createPlaceholderArtwork(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        
+        // 그라데이션 배경
+        GradientPaint gradient = new GradientPaint(
+                0, 0, new Color(135, 206, 250),
+                width, height, new Color(255, 182, 193));
+        g2d.setPaint(gradient);
+        g2d.fillRect(0, 0, width, height);
+        
+        // 중앙에 텍스트
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(new Font("Arial", Font.BOLD, 20));
+        FontMetrics fm = g2d.getFontMetrics();
+        String text = "작품 이미지";
+        int x = (width - fm.stringWidth(text)) / 2;
+        int y = (height + fm.getHeight()) / 2;
+        g2d.drawString(text, x, y);
+        
+        g2d.dispose();
+        return image;
+    }
+}
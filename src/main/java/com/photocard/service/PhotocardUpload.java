@@ -0,0 +1,50 @@
+package com.photocard.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 포토카드 이미지 변형 저장 (인코딩과 업로드 완료를 나눈 두 단계)
+ * - write: 풀의 ImageWriter 가 JPEG 를 저장소 스트림(업로드 스트림, 파일)에 바로 기록
+ *   렌더링 슬롯을 가진 스레드에서 렌더링에 이어 호출 (인코딩도 RenderExecutor 의 동시 실행 수 안에서 수행)
+ * - commit: 기록한 변형의 업로드 완료 (원격 전송/커밋), I/O 스레드에서 호출
+ * - abort: write 나 이후 단계가 실패하면 기록한 내용을 버림 (불완전한 이미지를 남기지 않음, 여러 번 호출해도 됨)
+ * 한 번에 한 스레드에서만 사용 (write 가 모두 끝난 뒤 commit 또는 abort)
+ */
+public interface PhotocardUpload {
+    
+    /**
+     * 변형 하나를 JPEG 로 인코딩해 기록
+     */
+    void write(PhotocardVariant variant, BufferedImage image) throws IOException;
+    
+    /**
+     * 기록한 변형의 저장 완료 후 fileId 와 다운로드 URL 반환
+     * 실패하면 기록한 내용을 버리고 RuntimeException
+     */
+    StoredPhotocard commit();
+    
+    /**
+     * 기록한 내용을 버림
+     */
+    void abort();
+    
+    /**
+     * 변형을 모두 기록한 뒤 저장 완료 (렌더링과 나누지 않는 호출자용)
+     */
+    static StoredPhotocard save(PhotocardUpload upload, Map<PhotocardVariant, BufferedImage> images) {
+        try {
+            for (Map.Entry<PhotocardVariant, BufferedImage> entry : images.entrySet()) {
+                upload.write(entry.getKey(), entry.getValue());
+            }
+        } catch (IOException e) {
+            upload.abort();
+            throw new RuntimeException("파일 저장에 실패했습니다: " + e.getMessage());
+        } catch (RuntimeException e) {
+            upload.abort();
+            throw e;
+        }
+        return upload.commit();
+    }
+}
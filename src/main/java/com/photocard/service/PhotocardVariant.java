@@ -0,0 +1,74 @@
+package com.photocard.service;
+
+/**
+ * 포토카드 이미지 변형 (카드 생성 시 한 번의 렌더링에서 함께 생성)
+ */
+public enum PhotocardVariant {
+    
+    // 목록용 썸네일
+    THUMBNAIL(200, 150, "_thumb"),
+    
+    // 모바일 미리보기
+    PREVIEW(400, 300, "_preview"),
+    
+    // 원본 (기존 파일명 유지)
+    FULL(PhotocardTemplateLayers.CARD_WIDTH, PhotocardTemplateLayers.CARD_HEIGHT, "");
+    
+    public static final String FILE_PREFIX = "photocard_";
+    private static final String FILE_EXTENSION = ".jpg";
+    
+    private final int width;
+    private final int height;
+    private final String suffix;
+    
+    PhotocardVariant(int width, int height, String suffix) {
+        this.width = width;
+        this.height = height;
+        this.suffix = suffix;
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+    
+    /**
+     * 저장 파일명 (photocard_{fileId}{suffix}.jpg)
+     */
+    public String fileName(String fileId) {
+        return FILE_PREFIX + fileId + suffix + FILE_EXTENSION;
+    }
+    
+    /**
+     * 저장 파일명에서 fileId 추출 (photocard_{fileId}{suffix}.jpg 형식이 아니면 null)
+     */
+    public static String fileIdOf(String fileName) {
+        if (fileName == null || !fileName.startsWith(FILE_PREFIX) || !fileName.endsWith(FILE_EXTENSION)) {
+            return null;
+        }
+        String name = fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_EXTENSION.length());
+        for (PhotocardVariant variant : values()) {
+            if (!variant.suffix.isEmpty() && name.endsWith(variant.suffix)) {
+                return name.substring(0, name.length() - variant.suffix.length());
+            }
+        }
+        return name.isEmpty() ? null : name;
+    }
+    
+    /**
+     * size 파라미터(thumbnail / preview / full)로 변형 조회, 알 수 없는 값이면 PREVIEW
+     */
+    public static PhotocardVariant from(String size) {
+        if (size != null) {
+            for (PhotocardVariant variant : values()) {
+                if (variant.name().equalsIgnoreCase(size.trim())) {
+                    return variant;
+                }
+            }
+        }
+        return PREVIEW;
+    }
+}
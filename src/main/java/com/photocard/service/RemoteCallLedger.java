@@ -0,0 +1,51 @@
+package com.photocard.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 1건이 수행한 외부 호출 횟수 (대상.작업 별)
+ * 예: exhibition.get=1, artwork-image.get=1, azure.upload=3
+ */
+public class RemoteCallLedger {
+    
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    
+    void record(String target, String operation) {
+        calls.computeIfAbsent(target + "." + operation, key -> new LongAdder()).increment();
+    }
+    
+    /**
+     * 대상.작업 별 호출 횟수 (이름순)
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        calls.forEach((key, count) -> snapshot.put(key, count.sum()));
+        return snapshot;
+    }
+    
+    /**
+     * 대상 별 호출 횟수 합계
+     */
+    public long count(String target) {
+        String prefix = target + ".";
+        return calls.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+    
+    /**
+     * 전체 호출 횟수
+     */
+    public long total() {
+        return calls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+    
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
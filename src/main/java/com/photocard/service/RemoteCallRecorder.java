@@ -0,0 +1,82 @@
+package com.photocard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 외부 호출(Exhibition API, 작품 이미지 다운로드, Azure Storage) 횟수 기록
+ * - 전체 누적: photocard.remote.calls{target, operation}
+ * - 요청 단위: 현재 스레드에 연결된 RemoteCallLedger 에 함께 기록
+ *   (생성 파이프라인은 단계마다 스레드가 바뀌므로 각 단계 실행 시 같은 ledger 를 연결)
+ */
+@Component
+@RequiredArgsConstructor
+public class RemoteCallRecorder {
+    
+    public static final String EXHIBITION = "exhibition";
+    public static final String CHAT_ORCHESTRA = "chat-orchestra";
+    public static final String ARTWORK_IMAGE = "artwork-image";
+    public static final String AZURE = "azure";
+    
+    private static final ThreadLocal<RemoteCallLedger> CURRENT = new ThreadLocal<>();
+    
+    private final MeterRegistry meterRegistry;
+    
+    // 호출마다 미터를 다시 만들지 않도록 태그별로 재사용 (키: target|operation, target)
+    private final Map<String, Counter> calls = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    
+    /**
+     * 외부 호출 1회 기록
+     */
+    public void record(String target, String operation) {
+        calls.computeIfAbsent(target + "|" + operation, key -> Counter.builder("photocard.remote.calls")
+                        .description("외부 호출 횟수")
+                        .tags("target", target, "operation", operation)
+                        .register(meterRegistry))
+                .increment();
+        
+        RemoteCallLedger ledger = CURRENT.get();
+        if (ledger != null) {
+            ledger.record(target, operation);
+        }
+    }
+    
+    /**
+     * ledger 를 현재 스레드에 연결한 채로 작업 실행
+     */
+    public <T> T within(RemoteCallLedger ledger, Supplier<T> work) {
+        RemoteCallLedger previous = CURRENT.get();
+        CURRENT.set(ledger);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * 포토카드 1건 생성에 든 대상별 외부 호출 횟수 분포 기록
+     * photocard.create.remote.calls{target}
+     */
+    public void summarize(RemoteCallLedger ledger, String... targets) {
+        for (String target : targets) {
+            summaries.computeIfAbsent(target, key -> DistributionSummary.builder("photocard.create.remote.calls")
+                            .description("포토카드 1건 생성당 외부 호출 횟수")
+                            .tag("target", target)
+                            .register(meterRegistry))
+                    .record(ledger.count(target));
+        }
+    }
+}
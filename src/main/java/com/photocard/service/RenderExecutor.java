@@ -0,0 +1,117 @@
+package com.photocard.service;
+
+import com.photocard.exception.RenderQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포토카드 렌더링 전용 실행기
+ * - CPU 코어 수 크기의 워커 풀 + 고정 크기 큐
+ * - 큐가 가득 차면 기다리지 않고 RenderQueueFullException 으로 즉시 거절 (503 + Retry-After)
+ * - 큐 길이, 큐 대기 시간, 거절 건수를 지표로 노출
+ */
+@Component
+@Slf4j
+public class RenderExecutor implements DisposableBean {
+    
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer queueWaitTimer;
+    private final Timer renderTimer;
+    private final Counter rejectedCounter;
+    
+    public RenderExecutor(MeterRegistry meterRegistry,
+                          @Value("${image.render.pool-size:0}") int poolSize,
+                          @Value("${image.render.queue-capacity:64}") int queueCapacity,
+                          @Value("${image.render.retry-after:5s}") Duration retryAfter) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("photocard-render-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        
+        this.queueWaitTimer = Timer.builder("photocard.render.queue.wait")
+                .description("렌더링 작업이 큐에서 대기한 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.renderTimer = Timer.builder("photocard.render.duration")
+                .description("렌더링 작업 실행 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("photocard.render.rejected")
+                .description("큐가 가득 차서 거절된 렌더링 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("photocard.render.queue.depth", executor, e -> e.getQueue().size())
+                .description("대기 중인 렌더링 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("photocard.render.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("실행 중인 렌더링 작업 수")
+                .register(meterRegistry);
+        
+        log.info("렌더링 실행기 초기화 - threads: {}, queueCapacity: {}", threads, queueCapacity);
+    }
+    
+    /**
+     * 렌더링 작업을 워커 풀에서 실행하고 결과를 기다림
+     * 큐가 가득 차면 RenderQueueFullException
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future = submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("렌더링 대기 중 인터럽트가 발생했습니다", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("렌더링 작업 실패: " + cause.getMessage(), cause);
+        }
+    }
+    
+    /**
+     * 렌더링 작업을 워커 풀에 제출
+     * 큐가 가득 차면 RenderQueueFullException
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return renderTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("렌더링 큐가 가득 참 - queueDepth: {}, active: {}",
+                    executor.getQueue().size(), executor.getActiveCount());
+            throw new RenderQueueFullException("포토카드 렌더링 요청이 많아 잠시 후 다시 시도해주세요", retryAfterSeconds);
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,68 @@
+package com.photocard.service;
+
+/**
+ * HIGH_QUALITY 리사이즈에 사용하는 재샘플링 필터
+ */
+public enum ResizeFilter {
+    
+    /**
+     * Lanczos (a = 3) - 선명도 우선
+     */
+    LANCZOS3(3.0) {
+        @Override
+        public double weight(double x) {
+            x = Math.abs(x);
+            if (x < 1e-8) {
+                return 1.0;
+            }
+            if (x >= 3.0) {
+                return 0.0;
+            }
+            double pix = Math.PI * x;
+            return 3.0 * Math.sin(pix) * Math.sin(pix / 3.0) / (pix * pix);
+        }
+    },
+    
+    /**
+     * Mitchell-Netravali (B = C = 1/3) - 링잉이 적은 부드러운 결과
+     */
+    MITCHELL(2.0) {
+        private static final double B = 1.0 / 3.0;
+        private static final double C = 1.0 / 3.0;
+        
+        @Override
+        public double weight(double x) {
+            x = Math.abs(x);
+            if (x < 1.0) {
+                return ((12 - 9 * B - 6 * C) * x * x * x
+                        + (-18 + 12 * B + 6 * C) * x * x
+                        + (6 - 2 * B)) / 6.0;
+            }
+            if (x < 2.0) {
+                return ((-B - 6 * C) * x * x * x
+                        + (6 * B + 30 * C) * x * x
+                        + (-12 * B - 48 * C) * x
+                        + (8 * B + 24 * C)) / 6.0;
+            }
+            return 0.0;
+        }
+    };
+    
+    private final double radius;
+    
+    ResizeFilter(double radius) {
+        this.radius = radius;
+    }
+    
+    /**
+     * 필터 반경 (원본 픽셀 단위, 축소 시 배율만큼 늘어남)
+     */
+    public double radius() {
+        return radius;
+    }
+    
+    /**
+     * 거리 x 에서의 필터 가중치
+     */
+    public abstract double weight(double x);
+}
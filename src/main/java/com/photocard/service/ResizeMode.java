@@ -0,0 +1,22 @@
+package com.photocard.service;
+
+/**
+ * 이미지 리사이즈 모드
+ */
+public enum ResizeMode {
+    
+    /**
+     * 단일 bilinear 패스 (가장 빠름, 큰 비율 축소 시 계단 현상)
+     */
+    FAST,
+    
+    /**
+     * 절반씩 단계적으로 축소 후 마지막에 목표 크기로 bilinear 패스
+     */
+    BALANCED,
+    
+    /**
+     * int[] 래스터 위에서 분리형(가로/세로) 컨볼루션 (Lanczos / Mitchell)
+     */
+    HIGH_QUALITY
+}
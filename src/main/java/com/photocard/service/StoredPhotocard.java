@@ -0,0 +1,8 @@
+package com.photocard.service;
+
+/**
+ * 저장 결과 (파일 ID + 원본 이미지 다운로드 URL)
+ * 업로드 결과로 바로 URL 을 만들어 저장 직후 존재 확인 호출이 필요 없음
+ */
+public record StoredPhotocard(String fileId, String downloadUrl) {
+}
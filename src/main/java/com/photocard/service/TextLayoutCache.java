@@ -0,0 +1,87 @@
+package com.photocard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 카드 텍스트 렌더링용 폰트 / 텍스트 레이아웃 캐시
+ * - 파생 폰트는 (family, style, size) 기준으로 한 번만 생성
+ * - 셰이핑된 TextLayout 과 가운데 정렬 x 좌표는 (text, font, 렌더링 컨텍스트, 너비) 기준으로 캐시
+ * - 인기 작품 제목처럼 반복되는 문자열은 폰트 조회와 셰이핑(특히 한글 fallback 폰트 탐색)을 건너뜀
+ * TextLayout 은 불변 객체이므로 여러 렌더링 스레드가 공유해도 안전
+ */
+@Component
+@Slf4j
+public class TextLayoutCache {
+    
+    private static final String CACHE_NAME = "textLayouts";
+    
+    private final Map<FontKey, Font> fonts = new ConcurrentHashMap<>();
+    private final Cache<LayoutKey, PositionedText> layouts;
+    
+    public TextLayoutCache(MeterRegistry meterRegistry,
+                           @Value("${image.text.layout-cache-size:10000}") long maximumSize) {
+        this.layouts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, layouts, CACHE_NAME);
+        log.info("텍스트 레이아웃 캐시 초기화 - maximumSize: {}", maximumSize);
+    }
+    
+    /**
+     * 파생 폰트 조회 (없으면 생성 후 캐시)
+     */
+    public Font font(String family, int style, int size) {
+        return fonts.computeIfAbsent(new FontKey(family, style, size), key -> new Font(key.family(), key.style(), key.size()));
+    }
+    
+    /**
+     * 너비(width) 안에서 가운데 정렬된 텍스트 레이아웃 조회 (없으면 셰이핑 후 캐시)
+     */
+    public PositionedText centered(String text, Font font, FontRenderContext frc, int width) {
+        if (text == null || text.isEmpty()) {
+            return PositionedText.EMPTY;
+        }
+        return layouts.get(new LayoutKey(text, font, frc, width), key -> {
+            TextLayout layout = new TextLayout(key.text(), key.font(), key.frc());
+            float x = (key.width() - layout.getAdvance()) / 2;
+            return new PositionedText(layout, x);
+        });
+    }
+    
+    /**
+     * 셰이핑이 끝난 텍스트와 그릴 x 좌표
+     */
+    public record PositionedText(TextLayout layout, float x) {
+        
+        private static final PositionedText EMPTY = new PositionedText(null, 0);
+        
+        /**
+         * 현재 Graphics2D 색상으로 기준선 y 에 그리기
+         */
+        public void draw(Graphics2D g2d, float y) {
+            if (layout != null) {
+                layout.draw(g2d, x, y);
+            }
+        }
+    }
+    
+    private record FontKey(String family, int style, int size) {
+    }
+    
+    private record LayoutKey(String text, Font font, FontRenderContext frc, int width) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.photocard.service;
+
+import com.photocard.exception.PhotocardImageNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 계층형 저장소
+ * - 저장과 URL 생성은 첫 번째 계층에서만 수행
+ * - 조회는 순서대로 시도해 처음 찾은 계층의 이미지를 반환 (예: azure 이후 이전 로컬 파일)
+ * - 삭제는 모든 계층에 수행
+ */
+@Slf4j
+public class TieredPhotocardStorage implements PhotocardStorage {
+    
+    private final List<PhotocardStorage> tiers;
+    
+    public TieredPhotocardStorage(List<PhotocardStorage> tiers) {
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("계층형 저장소에는 최소 한 개의 저장소가 필요합니다");
+        }
+        this.tiers = List.copyOf(tiers);
+    }
+    
+    @Override
+    public String name() {
+        return "tiered";
+    }
+    
+    private PhotocardStorage primary() {
+        return tiers.get(0);
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData) {
+        return primary().savePhotocardImage(fileId, variant, imageData);
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, InputStream imageData, long length) {
+        return primary().savePhotocardImage(fileId, variant, imageData, length);
+    }
+    
+    @Override
+    public PhotocardUpload beginPhotocardImages(String fileId) {
+        return primary().beginPhotocardImages(fileId);
+    }
+    
+    @Override
+    public Resource loadPhotocardImage(String fileId, PhotocardVariant variant) {
+        RuntimeException lastError = null;
+        for (PhotocardStorage tier : tiers) {
+            try {
+                return tier.loadPhotocardImage(fileId, variant);
+            } catch (PhotocardImageNotFoundException e) {
+                if (lastError == null) {
+                    lastError = e;
+                }
+            } catch (RuntimeException e) {
+                // 한 계층의 장애로 조회 전체가 실패하지 않도록 다음 계층으로 넘어감
+                log.warn("{} 저장소 조회 실패, 다음 계층 확인 - fileId: {}, 오류: {}", tier.name(), fileId, e.getMessage());
+                lastError = e;
+            }
+        }
+        throw lastError;
+    }
+    
+    @Override
+    public void deletePhotocardImage(String fileId) {
+        for (PhotocardStorage tier : tiers) {
+            tier.deletePhotocardImage(fileId);
+        }
+    }
+    
+    @Override
+    public String generateDownloadUrl(String fileId) {
+        return primary().generateDownloadUrl(fileId);
+    }
+    
+    @Override
+    public String generatePreviewUrl(String fileId) {
+        return primary().generatePreviewUrl(fileId);
+    }
+    
+    /**
+     * 서명 URL 은 저장 계층(첫 번째)에서만 발급, 없으면 empty 이므로 이전 계층의 카드는 이 노드에서 응답
+     */
+    @Override
+    public Optional<String> generateSignedUrl(String fileId, PhotocardVariant variant, Duration ttl, String fileName) {
+        return primary().generateSignedUrl(fileId, variant, ttl, fileName);
+    }
+}
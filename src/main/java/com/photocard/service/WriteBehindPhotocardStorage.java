@@ -0,0 +1,556 @@
+package com.photocard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 원격 저장소 앞단의 write-behind 스풀 (photocard.storage.write-behind)
+ * - 저장 시 로컬 스풀 디렉터리에 기록(fsync 후 원자적 이동)하고 바로 앱 URL 반환 → 생성 지연이 원격 저장소 지연과 무관
+ * - 백그라운드 업로더가 스풀을 batch-size 개씩 원격 저장소로 업로드, 실패 시 지수 백오프로 재시도
+ * - 업로드 전/직후 조회는 스풀 파일로 응답, 이후 원격 저장소로 넘김
+ * - 스풀 파일 이름(photocard_{fileId}{suffix}.jpg)이 곧 색인이므로 재시작 시 디렉터리를 읽어 남은 업로드를 복구
+ * - 대기 중인 카드가 max-pending 이상이거나 스풀 기록에 실패하면 원격 저장소에 바로 저장
+ */
+@Slf4j
+public class WriteBehindPhotocardStorage implements PhotocardStorage, DisposableBean {
+    
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    
+    private final PhotocardStorage delegate;
+    private final JpegEncoder jpegEncoder;
+    private final Path spoolDir;
+    private final String fileBaseUrl;
+    private final int maxPending;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retainAfterUpload;
+    private final Map<String, SpooledCard> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService uploaders;
+    private final Counter uploaded;
+    private final Counter failed;
+    private final Counter writeThrough;
+    private final Timer uploadLag;
+    
+    public WriteBehindPhotocardStorage(PhotocardStorage delegate,
+                                       JpegEncoder jpegEncoder,
+                                       Path spoolDir,
+                                       String fileBaseUrl,
+                                       int maxPending,
+                                       int batchSize,
+                                       int uploadConcurrency,
+                                       Duration pollInterval,
+                                       Duration retainAfterUpload,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.jpegEncoder = jpegEncoder;
+        this.spoolDir = spoolDir;
+        this.fileBaseUrl = fileBaseUrl;
+        this.maxPending = maxPending;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollInterval = pollInterval;
+        this.retainAfterUpload = retainAfterUpload;
+        
+        this.uploaded = Counter.builder("photocard.spool.uploads")
+                .description("스풀에서 원격 저장소로 업로드한 카드 수")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failed = Counter.builder("photocard.spool.uploads")
+                .description("스풀에서 원격 저장소로 업로드한 카드 수")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.writeThrough = Counter.builder("photocard.spool.write.through")
+                .description("스풀을 거치지 않고 원격 저장소에 바로 저장한 카드 수 (스풀 가득 참, 기록 실패)")
+                .register(meterRegistry);
+        this.uploadLag = Timer.builder("photocard.spool.upload.lag")
+                .description("스풀 기록부터 원격 업로드 완료까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("photocard.spool.pending", pending, Map::size)
+                .description("원격 업로드를 기다리는 카드 수")
+                .register(meterRegistry);
+        
+        // 스풀은 디스크에 남아 있으므로 종료 시 진행 중인 업로드가 끊겨도 재시작 후 다시 업로드 (데몬 스레드)
+        CustomizableThreadFactory schedulerThreads = new CustomizableThreadFactory("photocard-spool-");
+        schedulerThreads.setDaemon(true);
+        CustomizableThreadFactory uploadThreads = new CustomizableThreadFactory("photocard-spool-upload-");
+        uploadThreads.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(schedulerThreads);
+        this.uploaders = Executors.newFixedThreadPool(Math.max(1, uploadConcurrency), uploadThreads);
+        
+        recover();
+        scheduler.scheduleWithFixedDelay(this::drain, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("포토카드 write-behind 스풀 초기화 - dir: {}, 복구한 대기 카드: {}, batchSize: {}, uploadConcurrency: {}",
+                spoolDir, pending.size(), this.batchSize, uploadConcurrency);
+    }
+    
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+    
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, byte[] imageData) {
+        return spool(fileId, Map.of(variant, out -> out.write(imageData)),
+                () -> delegate.savePhotocardImage(fileId, variant, imageData));
+    }
+    
+    /**
+     * 업로드 스트림을 스풀 파일에 바로 복사
+     * 스트림을 읽기 시작한 뒤 스풀 기록에 실패하면 다시 읽을 수 없으므로 원격 저장소로 넘기지 않고 실패 처리
+     */
+    @Override
+    public StoredPhotocard savePhotocardImage(String fileId, PhotocardVariant variant, InputStream imageData, long length) {
+        AtomicBoolean consumed = new AtomicBoolean();
+        return spool(fileId, Map.of(variant, out -> {
+            consumed.set(true);
+            imageData.transferTo(out);
+        }), () -> {
+            if (consumed.get()) {
+                throw new RuntimeException("파일 저장에 실패했습니다: 업로드 스트림을 스풀에 기록하지 못했습니다");
+            }
+            return delegate.savePhotocardImage(fileId, variant, imageData, length);
+        });
+    }
+    
+    /**
+     * 변형을 스풀 임시 파일에 바로 인코딩(렌더링 스레드)하고 commit 에서 제자리로 옮겨 업로드 대기 목록에 등록
+     * 대기 카드가 상한이면 원격 저장소의 업로드를 그대로 사용
+     */
+    @Override
+    public PhotocardUpload beginPhotocardImages(String fileId) {
+        if (pending.size() >= maxPending && !pending.containsKey(fileId)) {
+            writeThrough.increment();
+            log.warn("스풀 대기 카드가 상한({})에 도달해 원격 저장소에 바로 저장 - fileId: {}", maxPending, fileId);
+            return delegate.beginPhotocardImages(fileId);
+        }
+        return new SpoolUpload(fileId);
+    }
+    
+    /**
+     * 변형들을 스풀에 기록하고 업로드 대기 목록에 등록
+     * 기록할 수 없으면 writeThroughSave 로 원격 저장소에 바로 저장
+     */
+    private StoredPhotocard spool(String fileId, Map<PhotocardVariant, SpoolWriter> writers,
+                                  Supplier<StoredPhotocard> writeThroughSave) {
+        if (pending.size() >= maxPending && !pending.containsKey(fileId)) {
+            writeThrough.increment();
+            log.warn("스풀 대기 카드가 상한({})에 도달해 원격 저장소에 바로 저장 - fileId: {}", maxPending, fileId);
+            return writeThroughSave.get();
+        }
+        
+        while (true) {
+            SpooledCard card = pending.computeIfAbsent(fileId, SpooledCard::new);
+            card.lock.lock();
+            try {
+                // 업로드가 막 끝나 목록에서 빠진 카드면 새 항목으로 다시 등록
+                if (card.closed) {
+                    continue;
+                }
+                for (Map.Entry<PhotocardVariant, SpoolWriter> entry : writers.entrySet()) {
+                    writeDurably(spoolFile(fileId, entry.getKey()), entry.getValue());
+                    card.variants.add(entry.getKey());
+                }
+                forceDirectory();
+            } catch (IOException e) {
+                if (card.variants.isEmpty()) {
+                    card.closed = true;
+                    pending.remove(fileId, card);
+                }
+                writeThrough.increment();
+                log.warn("스풀 기록 실패, 원격 저장소에 바로 저장 - fileId: {}, 오류: {}", fileId, e.getMessage());
+                return writeThroughSave.get();
+            } finally {
+                card.lock.unlock();
+            }
+            log.debug("포토카드 이미지 스풀 기록 - fileId: {}, variants: {}", fileId, writers.keySet());
+            return new StoredPhotocard(fileId, generateDownloadUrl(fileId));
+        }
+    }
+    
+    /**
+     * 임시 파일에 기록 후 fsync, 원자적으로 이동 (중단되어도 일부만 쓰인 스풀 파일이 남지 않음)
+     */
+    private void writeDurably(Path target, SpoolWriter writer) throws IOException {
+        Path temp = writeTemp(target, writer);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+    
+    /**
+     * target 옆 임시 파일에 기록 후 fsync (실패하면 임시 파일 삭제)
+     */
+    private Path writeTemp(Path target, SpoolWriter writer) throws IOException {
+        Files.createDirectories(spoolDir);
+        Path temp = Files.createTempFile(spoolDir, target.getFileName().toString(), TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                writer.write(out);
+                out.flush();
+                channel.force(true);
+            }
+            return temp;
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+    
+    /**
+     * 이동(rename) 결과가 디스크에 남도록 디렉터리 fsync (지원하지 않는 OS 는 무시)
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(spoolDir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.trace("스풀 디렉터리 fsync 미지원 - {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 업로드 대기 카드 중 재시도 시각이 지난 것을 batch-size 개씩 업로드
+     */
+    private void drain() {
+        try {
+            long now = System.nanoTime();
+            List<SpooledCard> batch = pending.values().stream()
+                    .filter(card -> card.nextAttemptAt - now <= 0)
+                    .sorted(Comparator.comparingLong(card -> card.spooledAt))
+                    .limit(batchSize)
+                    .toList();
+            if (batch.isEmpty()) {
+                return;
+            }
+            
+            List<Future<?>> uploads = new ArrayList<>(batch.size());
+            for (SpooledCard card : batch) {
+                uploads.add(uploaders.submit(() -> upload(card)));
+            }
+            for (Future<?> upload : uploads) {
+                upload.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            // 예외가 전파되면 주기 실행이 멈추므로 기록만 남김
+            log.error("스풀 업로드 처리 실패", e);
+        }
+    }
+    
+    private void upload(SpooledCard card) {
+        card.lock.lock();
+        try {
+            if (card.closed) {
+                return;
+            }
+            for (PhotocardVariant variant : card.variants) {
+                Path file = spoolFile(card.fileId, variant);
+                try (InputStream in = Files.newInputStream(file)) {
+                    delegate.savePhotocardImage(card.fileId, variant, in, Files.size(file));
+                }
+            }
+            card.closed = true;
+            pending.remove(card.fileId, card);
+            uploaded.increment();
+            uploadLag.record(System.nanoTime() - card.spooledAt, TimeUnit.NANOSECONDS);
+            log.info("스풀 카드 원격 업로드 완료 - fileId: {}, variants: {}", card.fileId, card.variants);
+            
+            // 방금 스풀 파일을 응답에 쓰기 시작한 요청이 있을 수 있으므로 잠시 뒤에 삭제
+            // 종료 중이면 더 응답할 요청이 없으므로 바로 삭제
+            Set<PhotocardVariant> variants = EnumSet.copyOf(card.variants);
+            try {
+                scheduler.schedule(() -> deleteSpooled(card.fileId, variants),
+                        retainAfterUpload.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                deleteSpooled(card.fileId, variants);
+            }
+        } catch (NoSuchFileException e) {
+            // 스풀 파일이 외부에서 지워진 경우 재시도해도 성공할 수 없으므로 대기 목록에서 제외
+            card.closed = true;
+            pending.remove(card.fileId, card);
+            failed.increment();
+            log.warn("스풀 파일이 없어 업로드 대기 목록에서 제외 - fileId: {}, file: {}", card.fileId, e.getFile());
+        } catch (IOException | RuntimeException e) {
+            card.attempts++;
+            long backoff = Math.min(MAX_BACKOFF.toNanos(), pollInterval.toNanos() << Math.min(card.attempts, 20));
+            card.nextAttemptAt = System.nanoTime() + backoff;
+            failed.increment();
+            log.warn("스풀 카드 원격 업로드 실패, {}ms 후 재시도 - fileId: {}, attempts: {}, 오류: {}",
+                    TimeUnit.NANOSECONDS.toMillis(backoff), card.fileId, card.attempts, e.getMessage());
+        } finally {
+            card.lock.unlock();
+        }
+    }
+    
+    private void deleteSpooled(String fileId, Set<PhotocardVariant> variants) {
+        // 그 사이 같은 fileId 로 다시 스풀된 경우 새 파일을 지우지 않음
+        if (pending.containsKey(fileId)) {
+            return;
+        }
+        for (PhotocardVariant variant : variants) {
+            deleteQuietly(spoolFile(fileId, variant));
+        }
+    }
+    
+    @Override
+    public Resource loadPhotocardImage(String fileId, PhotocardVariant variant) {
+        // 업로드 전(또는 직후)이면 스풀 파일로 응답 (sendfile 대상)
+        Path spooled = spoolFile(fileId, variant);
+        if (Files.isRegularFile(spooled)) {
+            return new FileSystemResource(spooled);
+        }
+        return delegate.loadPhotocardImage(fileId, variant);
+    }
+    
+    @Override
+    public void deletePhotocardImage(String fileId) {
+        SpooledCard card = pending.remove(fileId);
+        if (card != null) {
+            card.lock.lock();
+            try {
+                card.closed = true;
+            } finally {
+                card.lock.unlock();
+            }
+        }
+        for (PhotocardVariant variant : PhotocardVariant.values()) {
+            deleteQuietly(spoolFile(fileId, variant));
+        }
+        delegate.deletePhotocardImage(fileId);
+    }
+    
+    /**
+     * 업로드 전에도 응답할 수 있도록 항상 앱 URL 사용 (업로드 후에는 원격 저장소에서 응답)
+     */
+    @Override
+    public String generateDownloadUrl(String fileId) {
+        return fileBaseUrl + "/api/photocards/" + fileId + "/download";
+    }
+    
+    @Override
+    public String generatePreviewUrl(String fileId) {
+        return fileBaseUrl + "/api/photocards/" + fileId + "/preview";
+    }
+    
+    /**
+     * 아직 스풀에 있는 카드는 원격 저장소에 없을 수 있으므로 서명 URL 대신 이 노드에서 응답
+     */
+    @Override
+    public Optional<String> generateSignedUrl(String fileId, PhotocardVariant variant, Duration ttl, String fileName) {
+        if (pending.containsKey(fileId) || Files.isRegularFile(spoolFile(fileId, variant))) {
+            return Optional.empty();
+        }
+        return delegate.generateSignedUrl(fileId, variant, ttl, fileName);
+    }
+    
+    private Path spoolFile(String fileId, PhotocardVariant variant) {
+        return spoolDir.resolve(variant.fileName(fileId));
+    }
+    
+    /**
+     * 재시작 시 스풀 디렉터리를 읽어 업로드 대기 목록 복구 (남은 임시 파일은 삭제)
+     */
+    private void recover() {
+        if (!Files.isDirectory(spoolDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(spoolDir)) {
+            for (Path entry : entries) {
+                String fileName = entry.getFileName().toString();
+                if (fileName.endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(entry);
+                    continue;
+                }
+                String fileId = PhotocardVariant.fileIdOf(fileName);
+                if (fileId == null) {
+                    continue;
+                }
+                for (PhotocardVariant variant : PhotocardVariant.values()) {
+                    if (variant.fileName(fileId).equals(fileName)) {
+                        pending.computeIfAbsent(fileId, SpooledCard::new).variants.add(variant);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("스풀 복구 실패 - dir: {}, 오류: {}", spoolDir, e.getMessage());
+        }
+    }
+    
+    /**
+     * 종료 시 업로드 주기를 멈추고 진행 중인 업로드가 끝나기를 기다림
+     * 남은 대기 카드와 삭제 예약된 스풀 파일은 디스크에 남아 재시작 후 recover 로 다시 업로드
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        // 업로드 완료를 기다리던 drain 은 인터럽트로 빠져나오고, 업로더는 제출된 업로드까지 마침
+        scheduler.shutdownNow();
+        uploaders.shutdown();
+        if (!uploaders.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("스풀 업로드가 종료 대기 시간 안에 끝나지 않음 - 대기 카드: {}", pending.size());
+            uploaders.shutdownNow();
+        }
+    }
+    
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("스풀 파일 삭제 실패 - path: {}", path);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface SpoolWriter {
+        void write(OutputStream out) throws IOException;
+    }
+    
+    /**
+     * 스풀 임시 파일에 변형을 기록하는 업로드
+     * 스풀 기록에 실패하면 원격 저장소의 업로드로 바꿔 이미 기록한 변형까지 다시 인코딩 (이미지는 commit 까지 보관)
+     * commit 에서 제자리로 옮기지 못하면 원격 저장소에 바로 저장
+     */
+    private final class SpoolUpload implements PhotocardUpload {
+        
+        private final String fileId;
+        private final Map<PhotocardVariant, BufferedImage> images = new EnumMap<>(PhotocardVariant.class);
+        private final Map<PhotocardVariant, Path> temps = new EnumMap<>(PhotocardVariant.class);
+        private PhotocardUpload writeThroughUpload;
+        
+        private SpoolUpload(String fileId) {
+            this.fileId = fileId;
+        }
+        
+        @Override
+        public void write(PhotocardVariant variant, BufferedImage image) throws IOException {
+            images.put(variant, image);
+            if (writeThroughUpload != null) {
+                writeThroughUpload.write(variant, image);
+                return;
+            }
+            try {
+                temps.put(variant, writeTemp(spoolFile(fileId, variant), out -> jpegEncoder.encode(image, out)));
+            } catch (IOException e) {
+                log.warn("스풀 기록 실패, 원격 저장소에 바로 저장 - fileId: {}, 오류: {}", fileId, e.getMessage());
+                deleteTemps();
+                writeThroughUpload = delegate.beginPhotocardImages(fileId);
+                for (Map.Entry<PhotocardVariant, BufferedImage> entry : images.entrySet()) {
+                    writeThroughUpload.write(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        
+        @Override
+        public StoredPhotocard commit() {
+            if (writeThroughUpload != null) {
+                writeThrough.increment();
+                return writeThroughUpload.commit();
+            }
+            
+            while (true) {
+                SpooledCard card = pending.computeIfAbsent(fileId, SpooledCard::new);
+                card.lock.lock();
+                try {
+                    // 업로드가 막 끝나 목록에서 빠진 카드면 새 항목으로 다시 등록
+                    if (card.closed) {
+                        continue;
+                    }
+                    for (Map.Entry<PhotocardVariant, Path> entry : temps.entrySet()) {
+                        Files.move(entry.getValue(), spoolFile(fileId, entry.getKey()),
+                                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                        card.variants.add(entry.getKey());
+                    }
+                    forceDirectory();
+                } catch (IOException e) {
+                    if (card.variants.isEmpty()) {
+                        card.closed = true;
+                        pending.remove(fileId, card);
+                    }
+                    deleteTemps();
+                    writeThrough.increment();
+                    log.warn("스풀 기록 실패, 원격 저장소에 바로 저장 - fileId: {}, 오류: {}", fileId, e.getMessage());
+                    return delegate.savePhotocardImages(fileId, images);
+                } finally {
+                    card.lock.unlock();
+                }
+                log.debug("포토카드 이미지 스풀 기록 - fileId: {}, variants: {}", fileId, temps.keySet());
+                return new StoredPhotocard(fileId, generateDownloadUrl(fileId));
+            }
+        }
+        
+        @Override
+        public void abort() {
+            deleteTemps();
+            if (writeThroughUpload != null) {
+                writeThroughUpload.abort();
+            }
+        }
+        
+        private void deleteTemps() {
+            temps.values().forEach(WriteBehindPhotocardStorage::deleteQuietly);
+        }
+    }
+    
+    /**
+     * 업로드를 기다리는 카드 (같은 fileId 의 저장/업로드/삭제는 lock 으로 직렬화)
+     */
+    private static final class SpooledCard {
+        private final String fileId;
+        private final long spooledAt = System.nanoTime();
+        private final Set<PhotocardVariant> variants = EnumSet.noneOf(PhotocardVariant.class);
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean closed;
+        private volatile long nextAttemptAt = spooledAt;
+        private int attempts;
+        
+        private SpooledCard(String fileId) {
+            this.fileId = fileId;
+        }
+    }
+}
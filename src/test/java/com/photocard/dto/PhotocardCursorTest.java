@@ -0,0 +1,63 @@
+package com.photocard.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhotocardCursorTest {
+    
+    @Test
+    @DisplayName("인코딩한 커서를 해석하면 같은 created_at(나노초 포함), id")
+    void roundTrips() {
+        PhotocardCursor cursor = new PhotocardCursor(LocalDateTime.of(2024, 1, 1, 12, 30, 15, 123_456_789), 42L);
+        
+        String encoded = cursor.encode();
+        
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(PhotocardCursor.decode(encoded)).isEqualTo(cursor);
+    }
+    
+    @Test
+    @DisplayName("초가 0 인 시각도 그대로 해석")
+    void roundTripsWholeMinute() {
+        PhotocardCursor cursor = new PhotocardCursor(LocalDateTime.of(2024, 1, 1, 12, 0), Long.MAX_VALUE);
+        
+        assertThat(PhotocardCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+    
+    @Test
+    @DisplayName("마지막으로 받은 포토카드의 created_at, id 로 다음 페이지 커서 생성")
+    void startsAfterPhotocard() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 5, 9, 0, 1);
+        PhotocardResponse photocard = PhotocardResponse.builder().id(7L).createdAt(createdAt).build();
+        
+        assertThat(PhotocardCursor.after(photocard)).isEqualTo(new PhotocardCursor(createdAt, 7L));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not-base64!", "bm8tc2VwYXJhdG9y", "MjAyNC0wMS0wMVQxMjowMHxhYmM", "bm90LWEtZGF0ZXwx"})
+    @DisplayName("형식이 맞지 않는 커서는 IllegalArgumentException")
+    void rejectsMalformedCursor(String cursor) {
+        assertThatThrownBy(() -> PhotocardCursor.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("해석 오류 메시지에 원래 커서 문자열 포함")
+    void reportsMalformedCursor() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-01-01T12:00|".getBytes(StandardCharsets.UTF_8));
+        
+        assertThatThrownBy(() -> PhotocardCursor.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다: " + cursor);
+    }
+}
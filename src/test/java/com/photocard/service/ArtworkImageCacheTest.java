@@ -0,0 +1,130 @@
+package com.photocard.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArtworkImageCacheTest {
+    
+    private static final String URL = "https://example.com/artwork.jpg";
+    private static final int WAITERS = 8;
+    
+    private final ArtworkImageCache cache = new ArtworkImageCache(new SimpleMeterRegistry(), 64L * 1024 * 1024, Duration.ofHours(1));
+    private final ExecutorService threads = Executors.newFixedThreadPool(WAITERS);
+    
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+    
+    @Test
+    @DisplayName("같은 URL 의 동시 요청은 로더를 한 번만 실행하고 결과를 공유")
+    void coalescesConcurrentLoads() throws Exception {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        Future<BufferedImage> leader = threads.submit(() -> cache.get(URL, () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            awaitQuietly(release);
+            return image;
+        }));
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        List<Future<BufferedImage>> followers = new ArrayList<>();
+        for (int i = 1; i < WAITERS; i++) {
+            followers.add(threads.submit(() -> cache.get(URL, () -> {
+                loads.incrementAndGet();
+                return new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+            })));
+        }
+        release.countDown();
+        
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(image);
+        for (Future<BufferedImage> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(image);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get(URL, () -> null)).isSameAs(image);
+    }
+    
+    @Test
+    @DisplayName("로더가 Error 를 던져도 대기 중인 요청이 풀려나고 다음 요청은 다시 로드")
+    void releasesWaitersWhenLoaderThrowsError() throws Exception {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        Future<BufferedImage> leader = threads.submit(() -> cache.get(URL, () -> {
+            loaderStarted.countDown();
+            awaitQuietly(release);
+            throw new OutOfMemoryError("decode");
+        }));
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        AtomicReference<Thread> followerThread = new AtomicReference<>();
+        Future<BufferedImage> follower = threads.submit(() -> {
+            followerThread.set(Thread.currentThread());
+            return cache.get(URL, () -> null);
+        });
+        awaitParked(followerThread);
+        release.countDown();
+        
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        assertThat(cache.get(URL, () -> image)).isSameAs(image);
+    }
+    
+    @Test
+    @DisplayName("로더의 IOException 은 그대로 전파되고 캐시하지 않음")
+    void propagatesIoExceptionWithoutCaching() throws Exception {
+        assertThatThrownBy(() -> cache.get(URL, () -> {
+            throw new IOException("not found");
+        })).isInstanceOf(IOException.class).hasMessage("not found");
+        
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        assertThat(cache.get(URL, () -> image)).isSameAs(image);
+    }
+    
+    /**
+     * 대기 요청이 로드 중인 future 에서 기다리기 시작할 때까지 대기
+     */
+    private static void awaitParked(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.get() == null || thread.get().getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime() - deadline).isNegative();
+            Thread.sleep(1);
+        }
+    }
+    
+    /**
+     * 로더(ImageLoader 는 IOException 만 던짐) 안에서 래치 대기
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.photocard.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class ArtworkSelectionRecorderTest {
+    
+    private static final Duration NEVER = Duration.ofHours(1);
+    
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    
+    @Test
+    @DisplayName("이벤트는 batch-size 이하의 다중 행 INSERT 로, 선택 수는 작품별 증가분으로 기록")
+    void flushesEventsAndSnapshotsCounts() throws Exception {
+        ArtworkSelectionRecorder recorder = create(true, 100, 2, NEVER, NEVER);
+        
+        recorder.record(1L);
+        recorder.record(1L);
+        recorder.record(2L);
+        recorder.destroy();
+        
+        assertThat(jdbcTemplate.inserts).allSatisfy(args -> assertThat(args.length).isBetween(2, 4));
+        assertThat(jdbcTemplate.insertedArtworkIds()).containsExactly(1L, 1L, 2L);
+        assertThat(jdbcTemplate.snapshotTotals()).containsOnly(entry(1L, 2L), entry(2L, 1L));
+    }
+    
+    @Test
+    @DisplayName("큐가 가득 차 버린 이벤트도 선택 수에는 포함")
+    void countsDroppedEvents() throws Exception {
+        ArtworkSelectionRecorder recorder = create(true, 2, 100, NEVER, NEVER);
+        
+        for (int i = 0; i < 5; i++) {
+            recorder.record(1L);
+        }
+        recorder.destroy();
+        
+        assertThat(jdbcTemplate.insertedArtworkIds()).containsExactly(1L, 1L);
+        assertThat(jdbcTemplate.snapshotTotals()).containsOnly(entry(1L, 5L));
+    }
+    
+    @Test
+    @DisplayName("snapshot 기록에 실패하면 증가분을 되돌려 다음 snapshot 에서 기록 (실패한 이벤트 묶음은 버림)")
+    void retriesFailedSnapshot() throws Exception {
+        ArtworkSelectionRecorder recorder = create(true, 100, 100, NEVER, NEVER);
+        recorder.record(1L);
+        recorder.record(1L);
+        recorder.record(3L);
+        
+        jdbcTemplate.failing = true;
+        recorder.destroy();
+        assertThat(jdbcTemplate.snapshots).isEmpty();
+        
+        jdbcTemplate.failing = false;
+        recorder.destroy();
+        
+        assertThat(jdbcTemplate.inserts).isEmpty();
+        assertThat(jdbcTemplate.snapshotTotals()).containsOnly(entry(1L, 2L), entry(3L, 1L));
+    }
+    
+    @Test
+    @DisplayName("snapshot 과 동시에 기록해도 증가분의 합이 선택 수와 같음")
+    void snapshotDeltasAddUpUnderConcurrentRecords() throws Exception {
+        int threads = 8;
+        int recordsPerThread = 5_000;
+        long[] artworkIds = {1L, 2L, 3L, 4L};
+        ArtworkSelectionRecorder recorder = create(true, 1_000, 200, Duration.ofMillis(5), Duration.ofMillis(1));
+        
+        ExecutorService requests = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(requests.submit(() -> {
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        recorder.record(artworkIds[i % artworkIds.length]);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+        recorder.destroy();
+        
+        long expected = (long) threads * recordsPerThread / artworkIds.length;
+        assertThat(jdbcTemplate.snapshotTotals())
+                .containsOnly(entry(1L, expected), entry(2L, expected), entry(3L, expected), entry(4L, expected));
+    }
+    
+    @Test
+    @DisplayName("비활성화하면 아무것도 기록하지 않음")
+    void ignoresRecordsWhenDisabled() throws Exception {
+        ArtworkSelectionRecorder recorder = create(false, 100, 1, NEVER, NEVER);
+        
+        recorder.record(1L);
+        recorder.destroy();
+        
+        assertThat(jdbcTemplate.inserts).isEmpty();
+        assertThat(jdbcTemplate.snapshots).isEmpty();
+    }
+    
+    private ArtworkSelectionRecorder create(boolean enabled, int capacity, int batchSize,
+                                            Duration flushInterval, Duration snapshotInterval) {
+        return new ArtworkSelectionRecorder(jdbcTemplate, new SimpleMeterRegistry(), enabled, capacity, batchSize,
+                flushInterval, snapshotInterval);
+    }
+    
+    /**
+     * 실행한 INSERT 와 선택 수 증가분을 모으는 JdbcTemplate (failing 이면 DB 장애처럼 실패)
+     */
+    private static final class RecordingJdbcTemplate extends JdbcTemplate {
+        
+        private final List<Object[]> inserts = new CopyOnWriteArrayList<>();
+        private final List<Object[]> snapshots = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+        
+        @Override
+        public int update(String sql, Object... args) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            assertThat(sql).startsWith("INSERT INTO artwork_selections");
+            inserts.add(args);
+            return args.length / 2;
+        }
+        
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            assertThat(sql).startsWith("INSERT INTO artwork_selection_counts");
+            snapshots.addAll(batchArgs);
+            return new int[batchArgs.size()];
+        }
+        
+        private List<Long> insertedArtworkIds() {
+            List<Long> artworkIds = new ArrayList<>();
+            for (Object[] args : inserts) {
+                for (int i = 0; i < args.length; i += 2) {
+                    artworkIds.add((Long) args[i]);
+                }
+            }
+            return artworkIds;
+        }
+        
+        private Map<Long, Long> snapshotTotals() {
+            Map<Long, Long> totals = new HashMap<>();
+            for (Object[] delta : snapshots) {
+                assertThat((Long) delta[1]).isPositive();
+                totals.merge((Long) delta[0], (Long) delta[1], Long::sum);
+            }
+            return totals;
+        }
+    }
+}
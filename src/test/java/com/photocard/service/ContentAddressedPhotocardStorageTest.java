@@ -0,0 +1,139 @@
+package com.photocard.service;
+
+import com.photocard.entity.PhotocardBlob;
+import com.photocard.repository.PhotocardBlobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.awt.image.BufferedImage;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentAddressedPhotocardStorageTest {
+    
+    private static final String FILE_BASE_URL = "http://localhost:8080";
+    
+    private final JpegEncoder jpegEncoder = new JpegEncoder(0.9f, 0);
+    private final InMemoryPhotocardStorage delegate = spy(new InMemoryPhotocardStorage(jpegEncoder, FILE_BASE_URL));
+    private final PhotocardBlobRepository photocardBlobRepository = mock(PhotocardBlobRepository.class);
+    private final ContentAddressedPhotocardStorage storage =
+            new ContentAddressedPhotocardStorage(delegate, photocardBlobRepository, jpegEncoder, new SimpleMeterRegistry());
+    private final Map<PhotocardVariant, BufferedImage> images = Map.of(
+            PhotocardVariant.FULL, new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB),
+            PhotocardVariant.THUMBNAIL, new BufferedImage(16, 12, BufferedImage.TYPE_INT_RGB));
+    
+    @AfterEach
+    void tearDown() {
+        jpegEncoder.destroy();
+    }
+    
+    @Test
+    @DisplayName("처음 저장하는 내용은 원본의 SHA-256 을 fileId 로 모든 변형을 업로드하고 기록")
+    void uploadsAndRecordsNewContent() throws Exception {
+        when(photocardBlobRepository.findById(anyString())).thenReturn(Optional.empty());
+        
+        StoredPhotocard stored = storage.savePhotocardImages(images);
+        
+        byte[] fullImage = delegate.loadPhotocardImage(stored.fileId(), PhotocardVariant.FULL).getContentAsByteArray();
+        assertThat(stored.fileId()).isEqualTo(sha256(fullImage));
+        assertThat(stored.downloadUrl()).isEqualTo(delegate.generateDownloadUrl(stored.fileId()));
+        assertThat(delegate.loadPhotocardImage(stored.fileId(), PhotocardVariant.THUMBNAIL).exists()).isTrue();
+        
+        PhotocardBlob blob = recordedBlob();
+        assertThat(blob.getContentHash()).isEqualTo(stored.fileId());
+        assertThat(blob.getSizeBytes()).isEqualTo(fullImage.length);
+        assertThat(blob.getDownloadUrl()).isEqualTo(stored.downloadUrl());
+        assertThat(blob.getLastReferencedAt()).isNotNull();
+    }
+    
+    @Test
+    @DisplayName("같은 내용이 이미 기록되어 있으면 참조 시각만 갱신하고 업로드 없이 기존 URL 반환")
+    void reusesExistingContent() {
+        when(photocardBlobRepository.findById(anyString())).thenReturn(Optional.empty());
+        StoredPhotocard first = storage.savePhotocardImages(images);
+        PhotocardBlob blob = recordedBlob();
+        blob.setDownloadUrl("https://cdn.example.com/" + first.fileId());
+        
+        when(photocardBlobRepository.findById(first.fileId())).thenReturn(Optional.of(blob));
+        when(photocardBlobRepository.touch(eq(first.fileId()), any(LocalDateTime.class))).thenReturn(1);
+        StoredPhotocard second = storage.savePhotocardImages(images);
+        
+        assertThat(second.fileId()).isEqualTo(first.fileId());
+        assertThat(second.downloadUrl()).isEqualTo(blob.getDownloadUrl());
+        verify(photocardBlobRepository).touch(eq(first.fileId()), any(LocalDateTime.class));
+        verify(photocardBlobRepository, times(1)).saveAndFlush(any(PhotocardBlob.class));
+        // 첫 저장의 변형 2개만 업로드
+        verify(delegate, times(2)).savePhotocardImage(anyString(), any(PhotocardVariant.class), any(byte[].class));
+    }
+    
+    @Test
+    @DisplayName("기록이 있어도 참조 시각 갱신에 실패하면(고아 blob 정리가 삭제) 다시 업로드")
+    void uploadsAgainWhenRowWasJustDeleted() {
+        when(photocardBlobRepository.findById(anyString())).thenReturn(Optional.empty());
+        StoredPhotocard first = storage.savePhotocardImages(images);
+        PhotocardBlob blob = recordedBlob();
+        
+        when(photocardBlobRepository.findById(first.fileId())).thenReturn(Optional.of(blob));
+        when(photocardBlobRepository.touch(eq(first.fileId()), any(LocalDateTime.class))).thenReturn(0);
+        StoredPhotocard second = storage.savePhotocardImages(images);
+        
+        assertThat(second.fileId()).isEqualTo(first.fileId());
+        verify(photocardBlobRepository, times(2)).saveAndFlush(any(PhotocardBlob.class));
+        verify(delegate, times(4)).savePhotocardImage(anyString(), any(PhotocardVariant.class), any(byte[].class));
+    }
+    
+    @Test
+    @DisplayName("같은 내용을 동시에 기록해 키가 충돌하면 업로드 결과를 그대로 반환하고 참조 시각 갱신")
+    void touchesRowOnConcurrentInsert() throws Exception {
+        byte[] imageData = jpegEncoder.encode(images.get(PhotocardVariant.FULL));
+        String contentHash = sha256(imageData);
+        when(photocardBlobRepository.findById(contentHash)).thenReturn(Optional.empty());
+        when(photocardBlobRepository.saveAndFlush(any(PhotocardBlob.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        
+        StoredPhotocard stored = storage.savePhotocardImage(imageData);
+        
+        assertThat(stored.fileId()).isEqualTo(contentHash);
+        assertThat(delegate.loadPhotocardImage(contentHash, PhotocardVariant.FULL).getContentAsByteArray()).isEqualTo(imageData);
+        verify(photocardBlobRepository).touch(eq(contentHash), any(LocalDateTime.class));
+    }
+    
+    @Test
+    @DisplayName("원본 없이 변형만 저장하면 내용 주소를 쓰지 않고 기록도 남기지 않음")
+    void skipsContentAddressingWithoutFullVariant() {
+        StoredPhotocard stored = storage.savePhotocardImages(
+                Map.of(PhotocardVariant.THUMBNAIL, images.get(PhotocardVariant.THUMBNAIL)));
+        
+        assertThat(delegate.loadPhotocardImage(stored.fileId(), PhotocardVariant.THUMBNAIL).exists()).isTrue();
+        verify(photocardBlobRepository, never()).findById(anyString());
+        verify(photocardBlobRepository, never()).saveAndFlush(any(PhotocardBlob.class));
+    }
+    
+    private PhotocardBlob recordedBlob() {
+        ArgumentCaptor<PhotocardBlob> captor = ArgumentCaptor.forClass(PhotocardBlob.class);
+        verify(photocardBlobRepository).saveAndFlush(captor.capture());
+        return captor.getValue();
+    }
+    
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
@@ -0,0 +1,152 @@
+package com.photocard.service;
+
+import com.photocard.exception.PhotocardImageNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindPhotocardStorageTest {
+    
+    private static final String FILE_BASE_URL = "http://localhost:8080";
+    private static final String FILE_ID = "card-1";
+    
+    @TempDir
+    Path spoolDir;
+    
+    private final JpegEncoder jpegEncoder = new JpegEncoder(0.9f, 0);
+    private final InMemoryPhotocardStorage delegate = new InMemoryPhotocardStorage(jpegEncoder, FILE_BASE_URL);
+    private final List<WriteBehindPhotocardStorage> storages = new ArrayList<>();
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (WriteBehindPhotocardStorage storage : storages) {
+            storage.destroy();
+        }
+        jpegEncoder.destroy();
+    }
+    
+    @Test
+    @DisplayName("저장은 스풀에만 기록하고, 재시작하면 남은 스풀을 복구해 원격 저장소로 업로드")
+    void spoolsAndRecoversAfterRestart() throws Exception {
+        // 업로드 주기가 오지 않도록 긴 poll 간격
+        WriteBehindPhotocardStorage storage = create(16, Duration.ofHours(1));
+        
+        StoredPhotocard stored = storage.savePhotocardImages(FILE_ID, images());
+        
+        assertThat(stored.fileId()).isEqualTo(FILE_ID);
+        assertThat(stored.downloadUrl()).isEqualTo(FILE_BASE_URL + "/api/photocards/" + FILE_ID + "/download");
+        Path full = spoolDir.resolve(PhotocardVariant.FULL.fileName(FILE_ID));
+        Path thumbnail = spoolDir.resolve(PhotocardVariant.THUMBNAIL.fileName(FILE_ID));
+        assertThat(full).isRegularFile();
+        assertThat(thumbnail).isRegularFile();
+        assertThat(tempFiles()).isEmpty();
+        assertThat(storage.loadPhotocardImage(FILE_ID, PhotocardVariant.FULL)).isInstanceOf(FileSystemResource.class);
+        assertThat(storage.generateSignedUrl(FILE_ID, PhotocardVariant.FULL, Duration.ofMinutes(5), "card.jpg")).isEmpty();
+        assertThatThrownBy(() -> delegate.loadPhotocardImage(FILE_ID, PhotocardVariant.FULL))
+                .isInstanceOf(PhotocardImageNotFoundException.class);
+        
+        byte[] spooledFull = Files.readAllBytes(full);
+        byte[] spooledThumbnail = Files.readAllBytes(thumbnail);
+        storage.destroy();
+        
+        // 기록 도중 중단된 임시 파일
+        Path strayTemp = Files.write(spoolDir.resolve(PhotocardVariant.FULL.fileName("card-2") + "123.tmp"), new byte[]{1, 2, 3});
+        
+        create(16, Duration.ofMillis(10));
+        
+        assertThat(strayTemp).doesNotExist();
+        awaitTrue(() -> isUploaded(PhotocardVariant.FULL) && isUploaded(PhotocardVariant.THUMBNAIL));
+        assertThat(delegate.loadPhotocardImage(FILE_ID, PhotocardVariant.FULL).getContentAsByteArray()).isEqualTo(spooledFull);
+        assertThat(delegate.loadPhotocardImage(FILE_ID, PhotocardVariant.THUMBNAIL).getContentAsByteArray()).isEqualTo(spooledThumbnail);
+        awaitTrue(() -> Files.notExists(full) && Files.notExists(thumbnail));
+    }
+    
+    @Test
+    @DisplayName("대기 카드가 max-pending 이상이면 원격 저장소에 바로 저장")
+    void writesThroughWhenSpoolIsFull() throws Exception {
+        WriteBehindPhotocardStorage storage = create(0, Duration.ofHours(1));
+        
+        storage.savePhotocardImages(FILE_ID, images());
+        
+        assertThat(isUploaded(PhotocardVariant.FULL)).isTrue();
+        assertThat(isUploaded(PhotocardVariant.THUMBNAIL)).isTrue();
+        assertThat(spoolDir.resolve(PhotocardVariant.FULL.fileName(FILE_ID))).doesNotExist();
+        assertThat(tempFiles()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("업로드 전에 삭제하면 스풀 파일을 지우고 업로드하지 않음")
+    void deleteCancelsPendingUpload() throws Exception {
+        WriteBehindPhotocardStorage storage = create(16, Duration.ofHours(1));
+        storage.savePhotocardImages(FILE_ID, images());
+        
+        storage.deletePhotocardImage(FILE_ID);
+        storage.destroy();
+        
+        assertThat(spoolDir.resolve(PhotocardVariant.FULL.fileName(FILE_ID))).doesNotExist();
+        assertThat(spoolDir.resolve(PhotocardVariant.THUMBNAIL.fileName(FILE_ID))).doesNotExist();
+        
+        // 재시작해도 복구할 카드가 없음
+        create(16, Duration.ofMillis(10));
+        Thread.sleep(100);
+        assertThat(isUploaded(PhotocardVariant.FULL)).isFalse();
+    }
+    
+    private WriteBehindPhotocardStorage create(int maxPending, Duration pollInterval) {
+        WriteBehindPhotocardStorage storage = new WriteBehindPhotocardStorage(delegate, jpegEncoder, spoolDir, FILE_BASE_URL,
+                maxPending, 8, 2, pollInterval, Duration.ZERO, new SimpleMeterRegistry());
+        storages.add(storage);
+        return storage;
+    }
+    
+    private static Map<PhotocardVariant, BufferedImage> images() {
+        return Map.of(
+                PhotocardVariant.FULL, new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB),
+                PhotocardVariant.THUMBNAIL, new BufferedImage(16, 12, BufferedImage.TYPE_INT_RGB));
+    }
+    
+    private boolean isUploaded(PhotocardVariant variant) {
+        try {
+            Resource resource = delegate.loadPhotocardImage(FILE_ID, variant);
+            return resource.exists();
+        } catch (PhotocardImageNotFoundException e) {
+            return false;
+        }
+    }
+    
+    private List<Path> tempFiles() throws IOException {
+        if (!Files.isDirectory(spoolDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".tmp")).toList();
+        }
+    }
+    
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).isNegative();
+            Thread.sleep(10);
+        }
+    }
+}